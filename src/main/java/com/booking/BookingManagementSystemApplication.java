@@ -2,8 +2,13 @@ package com.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC is only used by the streaming read path, which owns its own pool; the auto-configured
+ * ConnectionFactory bean would make the JDBC DataSource (and with it JPA) back off.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class BookingManagementSystemApplication {
 
     public static void main(String[] args) {
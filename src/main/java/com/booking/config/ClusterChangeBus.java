@@ -0,0 +1,384 @@
+package com.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Tells the other instances which cached data changed, over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Write paths {@link #publish} a topic and key. The changes of a transaction are collected, each once, and sent
+ * with {@code pg_notify} just before it commits, so PostgreSQL delivers them only if the transaction commits and
+ * only after its data is visible. Every instance listens on a dedicated connection outside the pool; changes
+ * arriving within {@code coalesce-ms} of each other are handed to the {@link Listener}s together, each key once.
+ * An instance ignores its own changes, as the write paths already update local state. After the listening
+ * connection is lost, it reconnects with backoff and reports every subscribed topic as changed, since
+ * notifications sent in between are gone.
+ * <p>
+ * Nothing is sent for a topic this instance has no listener for; all instances run the same code, so nobody
+ * else has one either, and NOTIFY serializes committing transactions.
+ */
+@Slf4j
+@Component
+public class ClusterChangeBus {
+
+    public enum Topic {
+        RESOURCES, USERS
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param keys the changed keys, or null when anything in the topic may have changed
+         */
+        void onChange(Set<String> keys);
+    }
+
+    /** Key of a change that concerns the whole topic */
+    static final String ALL = "*";
+
+    /** NOTIFY payloads must stay below 8000 bytes; topics and keys are ASCII */
+    static final int MAX_PAYLOAD = 7900;
+
+    private static final long RECONNECT_MIN_MS = 500;
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Topic, List<Listener>> listeners = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter received;
+    private final Counter reconnects;
+
+    @Value("${app.cache.change-bus.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.change-bus.channel:booking_changes}")
+    private String channel;
+
+    @Value("${app.cache.change-bus.coalesce-ms:50}")
+    private long coalesceMs;
+
+    @Value("${app.cache.change-bus.keepalive-ms:30000}")
+    private long keepaliveMs;
+
+    @Value("${app.cache.change-bus.reconnect-max-ms:30000}")
+    private long reconnectMaxMs;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    public ClusterChangeBus(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sent = Counter.builder("cache.change_bus.sent")
+                .description("Change notifications sent")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.change_bus.received")
+                .description("Changes from other instances handed to listeners, after coalescing")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("cache.change_bus.reconnects")
+                .description("Times the listening connection was lost")
+                .register(meterRegistry);
+        Gauge.builder("cache.change_bus.connected", this, bus -> bus.listening ? 1 : 0)
+                .description("Whether this instance is listening for changes")
+                .register(meterRegistry);
+    }
+
+    public void subscribe(Topic topic, Listener listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Tell the other instances that {@code key} of {@code topic} changed, or the whole topic when {@code key} is
+     * null. Inside a transaction the change goes out with its commit.
+     */
+    public void publish(Topic topic, Object key) {
+        if (!enabled || !listeners.containsKey(topic)) {
+            return;
+        }
+        String change = topic.name() + ":" + (key != null ? key : ALL);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(change));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> changes = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Set<String> pending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClusterChangeBus.this);
+                }
+            });
+            changes = pending;
+        }
+        changes.add(change);
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid change bus channel name: " + channel);
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().name("change-bus-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(connection);
+        listenerThread.interrupt();
+        try {
+            listenerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(Collection<String> changes) {
+        for (String payload : encode(instanceId, changes)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+        }
+        sent.increment(changes.size());
+    }
+
+    private void listen() {
+        long backoff = RECONNECT_MIN_MS;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection listenConnection = connect()) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                if (connectedBefore) {
+                    // Notifications sent while disconnected are lost
+                    Batch everything = new Batch();
+                    listeners.keySet().forEach(topic -> everything.add(topic, ALL));
+                    dispatch(everything);
+                    log.info("Change bus listening again on {}, treated all cached topics as changed", channel);
+                } else {
+                    log.info("Change bus listening on {}", channel);
+                }
+                connectedBefore = true;
+                backoff = RECONNECT_MIN_MS;
+                poll(listenConnection);
+            } catch (SQLException e) {
+                listening = false;
+                if (!running) {
+                    break;
+                }
+                reconnects.increment();
+                log.warn("Change bus connection lost, reconnecting in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, reconnectMaxMs);
+            } finally {
+                listening = false;
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * Receive until the connection fails or the bus stops, flushing a batch {@code coalesce-ms} after its first
+     * change and probing the connection when it has been idle for {@code keepalive-ms}
+     */
+    private void poll(Connection listenConnection) throws SQLException {
+        PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+        Batch batch = new Batch();
+        long flushAt = 0;
+        long lastTraffic = System.currentTimeMillis();
+        while (running) {
+            long now = System.currentTimeMillis();
+            long wait = batch.isEmpty() ? keepaliveMs : flushAt - now;
+            PGNotification[] notifications = pgConnection.getNotifications((int) Math.max(1, wait));
+            now = System.currentTimeMillis();
+            if (notifications != null && notifications.length > 0) {
+                lastTraffic = now;
+                boolean wasEmpty = batch.isEmpty();
+                for (PGNotification notification : notifications) {
+                    decode(notification.getParameter(), instanceId, batch);
+                }
+                if (wasEmpty && !batch.isEmpty()) {
+                    flushAt = now + coalesceMs;
+                }
+            }
+            if (!batch.isEmpty() && now >= flushAt) {
+                dispatch(batch);
+                batch = new Batch();
+            }
+            if (now - lastTraffic >= keepaliveMs) {
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastTraffic = now;
+            }
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        batch.keys().forEach((topic, keys) -> {
+            Set<String> changed = keys.contains(ALL) ? null : Set.copyOf(keys);
+            for (Listener listener : listeners.getOrDefault(topic, List.of())) {
+                try {
+                    listener.onChange(changed);
+                } catch (RuntimeException e) {
+                    log.warn("Change bus listener for {} failed: {}", topic, e.getMessage());
+                }
+            }
+            received.increment(changed != null ? changed.size() : 1);
+        });
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", "booking-change-bus");
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Closing to wake the listener up; it is going away either way
+        }
+    }
+
+    /**
+     * Payloads of at most {@link #MAX_PAYLOAD} characters: the origin on the first line, then one
+     * {@code TOPIC:key} per line
+     */
+    static List<String> encode(String origin, Collection<String> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin);
+        for (String change : changes) {
+            if (payload.length() + 1 + change.length() > MAX_PAYLOAD && payload.length() > origin.length()) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(origin);
+            }
+            payload.append('\n').append(change);
+        }
+        if (payload.length() > origin.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Add the changes of a payload to {@code batch}, unless it came from {@code self}. Unknown topics are skipped,
+     * so instances of different versions can share a channel.
+     */
+    static void decode(String payload, String self, Batch batch) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(self)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            try {
+                batch.add(Topic.valueOf(lines[i].substring(0, separator)), lines[i].substring(separator + 1));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring change for unknown topic: {}", lines[i]);
+            }
+        }
+    }
+
+    /** Distinct changed keys per topic; a whole-topic change absorbs the keys */
+    static final class Batch {
+
+        private final Map<Topic, Set<String>> keys = new EnumMap<>(Topic.class);
+
+        void add(Topic topic, String key) {
+            Set<String> topicKeys = keys.computeIfAbsent(topic, t -> new HashSet<>());
+            if (topicKeys.contains(ALL)) {
+                return;
+            }
+            if (ALL.equals(key)) {
+                topicKeys.clear();
+            }
+            topicKeys.add(key);
+        }
+
+        boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        Map<Topic, Set<String>> keys() {
+            return keys;
+        }
+    }
+}
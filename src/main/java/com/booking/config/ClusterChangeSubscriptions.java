@@ -0,0 +1,48 @@
+package com.booking.config;
+
+import com.booking.config.ClusterChangeBus.Topic;
+import com.booking.entity.Resource;
+import com.booking.entity.User;
+import com.booking.security.TokenVersionRegistry;
+import com.booking.security.UserPrincipalCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * What each instance drops when another one reports a change: the second-level cache entries of changed resources
+ * and users, the cached principals of changed users, and, for self-contained tokens, the revocation snapshot.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.change-bus.enabled", havingValue = "true")
+public class ClusterChangeSubscriptions {
+
+    public ClusterChangeSubscriptions(ClusterChangeBus changeBus,
+                                      EntityCacheEvictor evictor,
+                                      UserPrincipalCache principalCache,
+                                      TokenVersionRegistry tokenVersionRegistry) {
+        changeBus.subscribe(Topic.RESOURCES, ids -> {
+            if (ids == null) {
+                evictor.evict(Resource.class.getName(), null);
+                return;
+            }
+            ids.forEach(id -> evictor.evict(Resource.class.getName(), Long.valueOf(id)));
+        });
+
+        changeBus.subscribe(Topic.USERS, ids -> {
+            if (ids == null) {
+                evictor.evict(User.class.getName(), null);
+                principalCache.evictAll();
+            } else {
+                for (String id : ids) {
+                    UUID userId = UUID.fromString(id);
+                    evictor.evict(User.class.getName(), userId);
+                    principalCache.evict(userId);
+                }
+            }
+            // A role or active-flag change may have revoked tokens; one refresh covers the whole batch
+            tokenVersionRegistry.refresh();
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.booking.config;
+
+import com.booking.diagnostics.DiagnosticsDataSource;
+import com.booking.diagnostics.DiagnosticsEndpoint;
+import com.booking.diagnostics.QueryCountFilter;
+import com.booking.diagnostics.QueryDiagnostics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in query diagnostics ({@code app.diagnostics.enabled=true}).
+ * <p>
+ * Turns on Hibernate statistics, times every JDBC statement, counts statements per request and
+ * exposes the results at {@code /actuator/diagnostics} (admins only). Off by default: the timing
+ * proxy and the statistics add overhead to every statement.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostics.enabled", havingValue = "true")
+public class DiagnosticsConfig {
+
+    @Bean
+    public QueryDiagnostics queryDiagnostics(
+            @Value("${app.diagnostics.slow-query-threshold-ms:200}") long slowQueryThresholdMs,
+            @Value("${app.diagnostics.request-query-threshold:20}") int requestQueryThreshold,
+            @Value("${app.diagnostics.buffer-size:100}") int bufferSize) {
+        log.info("Query diagnostics enabled: slow statements >= {} ms, heavy requests >= {} statements",
+                slowQueryThresholdMs, requestQueryThreshold);
+        return new QueryDiagnostics(slowQueryThresholdMs, requestQueryThreshold, bufferSize);
+    }
+
+    @Bean
+    public static BeanPostProcessor diagnosticsDataSourcePostProcessor(ObjectProvider<QueryDiagnostics> diagnostics) {
+        return new DiagnosticsDataSourcePostProcessor(diagnostics);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+
+    /** Ahead of the security filter chain so principal lookups count towards the request */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryDiagnostics diagnostics,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(diagnostics, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public DiagnosticsEndpoint diagnosticsEndpoint(QueryDiagnostics diagnostics,
+                                                   EntityManagerFactory entityManagerFactory) {
+        return new DiagnosticsEndpoint(diagnostics,
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+
+    /**
+     * Wraps the application data source last, so it sits outside any admission guard and sees the
+     * statements rather than the pool.
+     */
+    private static class DiagnosticsDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<QueryDiagnostics> diagnostics;
+
+        DiagnosticsDataSourcePostProcessor(ObjectProvider<QueryDiagnostics> diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                    && !(bean instanceof DiagnosticsDataSource)) {
+                return new DiagnosticsDataSource(dataSource, diagnostics.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.booking.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Second-level cache eviction for writes Hibernate does not see, such as plain JDBC statements.
+ * Writes through the entity manager keep the cache up to date on their own. Other instances learn about changes
+ * from {@link ClusterChangeBus}, which {@link ClusterChangeSubscriptions} turns into calls to {@link #evict}.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+    }
+
+    /**
+     * Drop every cached instance of {@code entityClass} on this instance once the surrounding transaction commits
+     */
+    public void evictAllAfterCommit(Class<?> entityClass) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll(entityClass);
+                }
+            });
+        } else {
+            evictAll(entityClass);
+        }
+    }
+
+    void evict(String entityName, Object id) {
+        if (id == null) {
+            cache.evictEntityData(entityName);
+            cache.evictNaturalIdData(entityName);
+        } else {
+            cache.evictEntityData(entityName, id);
+        }
+    }
+
+    private void evictAll(Class<?> entityClass) {
+        evict(entityClass.getName(), null);
+    }
+}
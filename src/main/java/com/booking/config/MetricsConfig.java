@@ -0,0 +1,37 @@
+package com.booking.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Guards the series count exposed to Prometheus.
+ * Every distinct tag value is a separate series, so entity identifiers are stripped from all meters
+ * and the open-ended tags on booking meters are capped.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String[] IDENTIFIER_TAGS = {
+            "resource_id", "resourceId", "user_id", "userId", "booking_id", "bookingId", "email"
+    };
+
+    /** Drop identifier tags wherever they come from */
+    @Bean
+    public MeterFilter identifierTagFilter() {
+        return MeterFilter.ignoreTags(IDENTIFIER_TAGS);
+    }
+
+    /** Stop registering new booking series once rejection reasons exceed the allowed number of values */
+    @Bean
+    public MeterFilter bookingReasonTagLimit(@Value("${app.metrics.max-tag-values:50}") int maxTagValues) {
+        return MeterFilter.maximumAllowableTags("booking", "reason", maxTagValues, MeterFilter.deny());
+    }
+
+    /** Same cap for operation outcomes */
+    @Bean
+    public MeterFilter bookingOutcomeTagLimit(@Value("${app.metrics.max-tag-values:50}") int maxTagValues) {
+        return MeterFilter.maximumAllowableTags("booking", "outcome", maxTagValues, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,81 @@
+package com.booking.config;
+
+import com.booking.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers who wrote recently, so their reads stay on the primary until the replica has caught up.
+ * <p>
+ * The subject of a read is the authenticated user's ID, or an explicit key supplied through
+ * {@link #readAs} for reads that happen before authentication (e.g. the email during login).
+ * Does nothing unless replica routing is enabled.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<String> explicitSubject = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replica.enabled:false}") boolean enabled,
+                                 @Value("${app.datasource.replica.sticky-window-ms:5000}") long stickyWindowMs,
+                                 @Value("${app.datasource.replica.max-tracked-subjects:100000}") long maxTrackedSubjects) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMs))
+                .maximumSize(maxTrackedSubjects)
+                .build();
+    }
+
+    public void recordWrite(String subject) {
+        if (enabled && subject != null) {
+            recentWriters.put(subject, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(String subject) {
+        return subject != null && recentWriters.getIfPresent(subject) != null;
+    }
+
+    /**
+     * Run a read on behalf of {@code subject}. The connection is chosen lazily at the first statement,
+     * so this also works inside a transaction that has already started.
+     */
+    public <T> T readAs(String subject, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        String previous = explicitSubject.get();
+        explicitSubject.set(subject);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                explicitSubject.remove();
+            } else {
+                explicitSubject.set(previous);
+            }
+        }
+    }
+
+    /** Explicit subject if one is set, otherwise the authenticated user's ID */
+    public String currentSubject() {
+        String subject = explicitSubject.get();
+        if (subject != null) {
+            return subject;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId().toString();
+        }
+        return null;
+    }
+}
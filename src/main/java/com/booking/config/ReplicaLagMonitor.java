@@ -0,0 +1,64 @@
+package com.booking.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the replica's replication lag and decides whether read-only transactions may use it.
+ * A replica that lags more than the allowed maximum, or cannot be queried, is skipped until a
+ * later check finds it healthy again; reads fall back to the primary in the meantime.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    private volatile boolean usable;
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMs) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /** Last measured lag in milliseconds, NaN if the replica could not be queried */
+    public double lagMs() {
+        return lagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            lagMs = result.next() ? result.getDouble(1) : 0;
+            usable = lagMs <= maxLagMs;
+            if (wasUsable && !usable) {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", Math.round(lagMs), maxLagMs);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            lagMs = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica unavailable, routing reads to the primary: {}", ex.getMessage());
+            }
+        }
+        if (!wasUsable && usable) {
+            log.info("Replica lag {} ms, routing read-only transactions to the replica", Math.round(lagMs));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.booking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the token revocation refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
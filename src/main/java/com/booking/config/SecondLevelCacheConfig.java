@@ -0,0 +1,42 @@
+package com.booking.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import java.util.List;
+
+/**
+ * Exports the second-level cache regions as {@code cache.*} meters tagged with the region name.
+ * The counts come from the JCache statistics enabled in application.conf, so Hibernate statistics
+ * (see {@link DiagnosticsConfig}) can stay off.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Regions declared by the entity mappings and configured in application.conf */
+    static final List<String> REGIONS = List.of("resources", "users", "users-natural-id");
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+                return;
+            }
+            for (String region : REGIONS) {
+                Cache<Object, Object> cache = jcache.getCacheManager().getCache(region);
+                if (cache != null) {
+                    JCacheMetrics.monitor(registry, cache);
+                }
+            }
+        };
+    }
+}
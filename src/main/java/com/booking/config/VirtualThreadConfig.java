@@ -0,0 +1,94 @@
+package com.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Virtual-thread mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Spring Boot moves Tomcat request handling, {@code @Async} event publishing, scheduling and the
+ * RabbitMQ listeners onto virtual threads; this configuration adds the connection admission guard
+ * so that the unbounded number of request threads cannot stampede the fixed-size connection pool.
+ * Password hashing stays on its own bounded platform pool because it is CPU-bound.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /** Wrap the pool in {@link ConnectionAdmissionDataSource} with one permit per pooled connection */
+    @Bean
+    public static BeanPostProcessor connectionAdmissionPostProcessor(
+            @Value("${app.datasource.admission.max-waiting:200}") int maxWaiting,
+            @Value("${app.datasource.admission.timeout-ms:2000}") long timeoutMs) {
+        return new ConnectionAdmissionPostProcessor(maxWaiting, timeoutMs);
+    }
+
+    /** Free permits and queued callers of the admission guard, next to the hikaricp.* pool metrics */
+    @Bean
+    public MeterBinder connectionAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            if (unwrap(dataSource) instanceof ConnectionAdmissionDataSource admission) {
+                Gauge.builder("db.admission.available", admission, ConnectionAdmissionDataSource::availablePermits)
+                        .description("Connection permits not in use")
+                        .register(registry);
+                Gauge.builder("db.admission.waiting", admission, ConnectionAdmissionDataSource::waiting)
+                        .description("Callers waiting for a connection permit")
+                        .register(registry);
+            }
+        };
+    }
+
+    /** The admission guard, also when it is wrapped again (e.g. by query diagnostics) */
+    private static DataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionAdmissionDataSource.class)
+                    ? dataSource.unwrap(ConnectionAdmissionDataSource.class)
+                    : dataSource;
+        } catch (SQLException e) {
+            return dataSource;
+        }
+    }
+
+    /**
+     * Runs first among the data source wrappers, so the guard sits directly on the Hikari pool.
+     */
+    private static class ConnectionAdmissionPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final int maxWaiting;
+        private final long timeoutMs;
+
+        ConnectionAdmissionPostProcessor(int maxWaiting, long timeoutMs) {
+            this.maxWaiting = maxWaiting;
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                int poolSize = hikari.getMaximumPoolSize();
+                log.info("Virtual threads enabled: admitting {} concurrent connections, {} waiting, {} ms wait",
+                        poolSize, maxWaiting, timeoutMs);
+                return new ConnectionAdmissionDataSource(hikari, poolSize, maxWaiting, timeoutMs);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
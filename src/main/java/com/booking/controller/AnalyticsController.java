@@ -0,0 +1,45 @@
+package com.booking.controller;
+
+import com.booking.dto.analytics.UtilizationBackfillResponse;
+import com.booking.dto.analytics.UtilizationGrouping;
+import com.booking.dto.analytics.UtilizationResponse;
+import com.booking.service.UtilizationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/admin/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Analytics", description = "Resource utilization reports (ADMIN only)")
+public class AnalyticsController {
+
+    private final UtilizationService utilizationService;
+
+    @GetMapping("/utilization")
+    @Operation(summary = "Occupancy per resource, location or day, from the daily rollups")
+    public ResponseEntity<UtilizationResponse> getUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "RESOURCE") UtilizationGrouping groupBy,
+            @RequestParam(required = false) String location) {
+        UtilizationResponse response = utilizationService.getUtilization(from, to, groupBy, location);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/utilization/backfill")
+    @Operation(summary = "Rebuild the daily rollups of a date range from the bookings")
+    public ResponseEntity<UtilizationBackfillResponse> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UtilizationBackfillResponse response = utilizationService.backfill(from, to);
+        return ResponseEntity.ok(response);
+    }
+}
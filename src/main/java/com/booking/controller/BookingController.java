@@ -2,6 +2,8 @@ package com.booking.controller;
 
 import com.booking.dto.booking.BookingFilterRequest;
 import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.booking.BulkCancelRequest;
+import com.booking.dto.booking.BulkCancelResponse;
 import com.booking.dto.booking.CreateBookingRequest;
 import com.booking.dto.common.PageResponse;
 import com.booking.security.UserPrincipal;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -47,6 +50,29 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/confirm")
+    @Operation(summary = "Confirm a booking", description = "Confirm a booking before its deadline (start plus the grace period). Only owner or ADMIN.")
+    public ResponseEntity<BookingResponse> confirmBooking(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(bookingService.confirmBooking(id, principal));
+    }
+
+    @PostMapping("/{id}/check-in")
+    @Operation(summary = "Check in", description = "Confirm a booking on arrival; accepted shortly before the start until the deadline. Only owner or ADMIN.")
+    public ResponseEntity<BookingResponse> checkIn(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(bookingService.checkIn(id, principal));
+    }
+
+    @PostMapping("/bulk-cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cancel bookings in bulk", description = "Cancel every future booking matching the filter in one statement. Owners are notified. Admin only.")
+    public ResponseEntity<BulkCancelResponse> cancelBookings(@Valid @RequestBody BulkCancelRequest request) {
+        return ResponseEntity.ok(bookingService.cancelBookings(request));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID", description = "Get booking details. Only owner or ADMIN can access.")
     public ResponseEntity<BookingResponse> getBookingById(
@@ -0,0 +1,31 @@
+package com.booking.controller;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.security.UserPrincipal;
+import com.booking.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/bookings")
+@RequiredArgsConstructor
+@Tag(name = "Bookings", description = "Booking management")
+public class BookingStreamController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream bookings", description = "Stream bookings as newline-delimited JSON, newest first. Same filters and visibility as the paged listing.")
+    public Flux<BookingResponse> streamBookings(
+            @ModelAttribute BookingFilterRequest filter,
+            @RequestParam(defaultValue = "1000") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return reactiveReadService.streamBookings(filter, limit, principal);
+    }
+}
@@ -2,16 +2,21 @@ package com.booking.controller;
 
 import com.booking.dto.common.PageResponse;
 import com.booking.dto.resource.*;
+import com.booking.service.ResourceImportService;
 import com.booking.service.ResourceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/v1/resources")
 @RequiredArgsConstructor
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final ResourceImportService resourceImportService;
 
     @GetMapping
     @Operation(summary = "Get all resources with filters and pagination")
@@ -57,6 +63,16 @@ public class ResourceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create or update resources in bulk from CSV or NDJSON, matched by name and location (ADMIN only)")
+    public ResponseEntity<ResourceImportResponse> importResources(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        ResourceImportResponse response = resourceImportService.importResources(body, contentType);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update a resource (ADMIN only)")
@@ -0,0 +1,39 @@
+package com.booking.controller;
+
+import com.booking.dto.resource.ResourceFilterRequest;
+import com.booking.dto.resource.ResourceResponse;
+import com.booking.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/resources")
+@RequiredArgsConstructor
+@Tag(name = "Resources", description = "Resource management API")
+public class ResourceStreamController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream resources as newline-delimited JSON, ordered by name")
+    public Flux<ResourceResponse> streamResources(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer capacityMin,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        ResourceFilterRequest filter = ResourceFilterRequest.builder()
+                .name(name)
+                .location(location)
+                .capacityMin(capacityMin)
+                .isActive(isActive)
+                .build();
+
+        return reactiveReadService.streamResources(filter, limit);
+    }
+}
@@ -1,15 +1,23 @@
 package com.booking.controller;
 
+import com.booking.dto.user.AdminUpdateUserRequest;
+import com.booking.dto.user.ProvisionUsersRequest;
+import com.booking.dto.user.ProvisioningJobResponse;
 import com.booking.dto.user.UpdateUserRequest;
 import com.booking.dto.user.UserResponse;
+import com.booking.service.UserProvisioningService;
 import com.booking.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
@@ -17,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserProvisioningService provisioningService;
 
     @GetMapping("/me")
     @Operation(summary = "Get current user profile")
@@ -32,4 +41,31 @@ public class UserController {
         UserResponse response = userService.updateCurrentUser(request);
         return ResponseEntity.ok(response);
     }
+
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change a user's role or active status (ADMIN only)")
+    public ResponseEntity<UserResponse> updateUser(
+            @PathVariable UUID id,
+            @Valid @RequestBody AdminUpdateUserRequest request) {
+        UserResponse response = userService.updateUser(id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Provision users in bulk as a background job (ADMIN only)")
+    public ResponseEntity<ProvisioningJobResponse> provisionUsers(
+            @Valid @RequestBody ProvisionUsersRequest request) {
+        ProvisioningJobResponse response = provisioningService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Progress of a bulk provisioning job (ADMIN only)")
+    public ResponseEntity<ProvisioningJobResponse> getProvisioningJob(@PathVariable UUID jobId) {
+        ProvisioningJobResponse response = provisioningService.getJob(jobId);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,51 @@
+package com.booking.controller;
+
+import com.booking.dto.booking.CreateBookingRequest;
+import com.booking.dto.booking.WaitlistEntryResponse;
+import com.booking.security.UserPrincipal;
+import com.booking.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@Tag(name = "Waitlist", description = "Waiting for booked slots")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Join the waitlist", description = "Queue a request for a taken slot. It is booked automatically, first come first served, when an overlapping booking is canceled.")
+    public ResponseEntity<WaitlistEntryResponse> join(
+            @Valid @RequestBody CreateBookingRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        WaitlistEntryResponse response = waitlistService.join(request, principal);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get my waitlist entries", description = "Entries of the current user with the number of earlier overlapping entries ahead.")
+    public ResponseEntity<List<WaitlistEntryResponse>> getMyEntries(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(waitlistService.getMyEntries(principal));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Leave the waitlist", description = "Remove a waitlist entry. Only owner or ADMIN.")
+    public ResponseEntity<Void> withdraw(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        waitlistService.withdraw(id, principal);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.booking.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Times every statement executed through the wrapped data source and reports it to {@link QueryDiagnostics}.
+ * <p>
+ * Prepared statements are attributed to the SQL they were prepared with; plain statements to the SQL passed
+ * to {@code execute*} (or the last {@code addBatch}). Bind parameters are not intercepted.
+ */
+public class DiagnosticsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final QueryDiagnostics diagnostics;
+
+    public DiagnosticsDataSource(DataSource target, QueryDiagnostics diagnostics) {
+        super(target);
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Shared handling of identity and unwrapping so the proxies behave like the objects they wrap.
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            return handle(proxy, method, args);
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" ->
+                        DiagnosticsDataSource.proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0], proxy));
+                case "prepareCall" ->
+                        DiagnosticsDataSource.proxy(CallableStatement.class, new StatementHandler(result, (String) args[0], proxy));
+                case "createStatement" ->
+                        DiagnosticsDataSource.proxy(Statement.class, new StatementHandler(result, null, proxy));
+                default -> result;
+            };
+        }
+    }
+
+    private class StatementHandler extends DelegatingHandler {
+
+        private final Object connection;
+        private String sql;
+
+        StatementHandler(Object target, String sql, Object connection) {
+            super(target);
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return delegate(method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            try {
+                return delegate(method, args);
+            } finally {
+                diagnostics.statementExecuted(executed, System.nanoTime() - start, name.endsWith("Batch"));
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.booking.diagnostics;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code /actuator/diagnostics}: Hibernate statistics, recent slow statements and statement-heavy requests.
+ * A DELETE resets the buffers and the statistics, e.g. before reproducing a spike.
+ */
+@Endpoint(id = "diagnostics")
+public class DiagnosticsEndpoint {
+
+    private static final int TOP_QUERIES = 10;
+
+    private final QueryDiagnostics diagnostics;
+    private final Statistics statistics;
+
+    public DiagnosticsEndpoint(QueryDiagnostics diagnostics, Statistics statistics) {
+        this.diagnostics = diagnostics;
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public DiagnosticsReport report() {
+        return new DiagnosticsReport(
+                diagnostics.statementCount(),
+                diagnostics.slowStatementCount(),
+                diagnostics.heavyRequestCount(),
+                hibernateSummary(),
+                diagnostics.slowStatements(),
+                diagnostics.heavyRequests());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        diagnostics.reset();
+        statistics.clear();
+    }
+
+    private HibernateSummary hibernateSummary() {
+        List<QueryTiming> slowestQueries = Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    return new QueryTiming(QueryDiagnostics.redact(query), stats.getExecutionCount(),
+                            stats.getExecutionAvgTime(), stats.getExecutionMaxTime(), stats.getExecutionRowCount());
+                })
+                .sorted(Comparator.comparingLong(QueryTiming::maxMs).reversed())
+                .limit(TOP_QUERIES)
+                .toList();
+        return new HibernateSummary(
+                statistics.getStart().toEpochMilli(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                QueryDiagnostics.redact(statistics.getQueryExecutionMaxTimeQueryString()),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getTransactionCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                slowestQueries);
+    }
+
+    public record DiagnosticsReport(long statements, long slowStatements, long heavyRequests,
+                                    HibernateSummary hibernate,
+                                    List<QueryDiagnostics.SlowStatement> recentSlowStatements,
+                                    List<QueryDiagnostics.HeavyRequest> recentHeavyRequests) {
+    }
+
+    /**
+     * Counters since {@code startTime} (epoch millis) or the last reset. Fetches are lazy loads,
+     * so a fetch count that grows with traffic usually points to an N+1.
+     */
+    public record HibernateSummary(long startTime, long preparedStatements, long queryExecutions,
+                                   long queryMaxTimeMs, String slowestQuery,
+                                   long entityLoads, long entityFetches, long collectionFetches,
+                                   long transactions, long secondLevelCacheHits, long secondLevelCacheMisses,
+                                   List<QueryTiming> slowestQueries) {
+    }
+
+    /**
+     * Per-query (HQL/criteria) timings from Hibernate statistics.
+     */
+    public record QueryTiming(String query, long executions, long avgMs, long maxMs, long rows) {
+    }
+}
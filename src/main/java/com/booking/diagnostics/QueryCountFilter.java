@@ -0,0 +1,53 @@
+package com.booking.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements each request executes and records them as {@code db.statements.per.request}
+ * by route. Registered ahead of the security filters so principal lookups are included.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final QueryDiagnostics diagnostics;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(QueryDiagnostics diagnostics, MeterRegistry meterRegistry) {
+        this.diagnostics = diagnostics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        diagnostics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        String route = UNKNOWN_ROUTE;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Matched pattern rather than the raw URI, so IDs do not create a route each
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+                route = pattern;
+            }
+            int statements = diagnostics.endRequest(request.getMethod() + " " + route, System.nanoTime() - start);
+            DistributionSummary.builder("db.statements.per.request")
+                    .description("JDBC statements executed while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.booking.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Collects slow statements and statement-heavy requests for the {@code diagnostics} actuator endpoint.
+ * <p>
+ * Statements are reported by {@link DiagnosticsDataSource}; requests are scoped by {@link QueryCountFilter}.
+ * Only the SQL text is kept: bind values are never read, and literals written into the SQL itself are
+ * replaced with {@code ?} before the statement is stored.
+ */
+public class QueryDiagnostics {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final List<String> OWN_CLASSES =
+            List.of(QueryDiagnostics.class.getName(), DiagnosticsDataSource.class.getName());
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long slowThresholdNanos;
+    private final int requestQueryThreshold;
+    private final RingBuffer<SlowStatement> slowStatements;
+    private final RingBuffer<HeavyRequest> heavyRequests;
+    private final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+    private final LongAdder statementCount = new LongAdder();
+
+    public QueryDiagnostics(long slowThresholdMs, int requestQueryThreshold, int bufferSize) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.requestQueryThreshold = requestQueryThreshold;
+        this.slowStatements = new RingBuffer<>(bufferSize);
+        this.heavyRequests = new RingBuffer<>(bufferSize);
+    }
+
+    /**
+     * Called after every statement execution on the request thread that ran it.
+     */
+    void statementExecuted(String sql, long elapsedNanos, boolean batch) {
+        statementCount.increment();
+        RequestScope scope = currentRequest.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatements.add(new SlowStatement(
+                    Instant.now(),
+                    elapsedNanos / 1_000_000.0,
+                    redact(sql),
+                    batch,
+                    origin().orElse(null),
+                    scope != null ? scope.request : null));
+        }
+    }
+
+    /**
+     * Start counting statements for the current thread.
+     */
+    void beginRequest(String request) {
+        currentRequest.set(new RequestScope(request));
+    }
+
+    /**
+     * Stop counting and return the number of statements the request executed.
+     * Requests at or above the threshold are kept as offenders under the given route.
+     */
+    int endRequest(String route, long elapsedNanos) {
+        RequestScope scope = currentRequest.get();
+        currentRequest.remove();
+        if (scope == null) {
+            return 0;
+        }
+        if (scope.statements >= requestQueryThreshold) {
+            heavyRequests.add(new HeavyRequest(Instant.now(), route, scope.statements, elapsedNanos / 1_000_000.0));
+        }
+        return scope.statements;
+    }
+
+    public List<SlowStatement> slowStatements() {
+        return slowStatements.snapshot();
+    }
+
+    public List<HeavyRequest> heavyRequests() {
+        return heavyRequests.snapshot();
+    }
+
+    public long statementCount() {
+        return statementCount.sum();
+    }
+
+    public long slowStatementCount() {
+        return slowStatements.total();
+    }
+
+    public long heavyRequestCount() {
+        return heavyRequests.total();
+    }
+
+    public void reset() {
+        slowStatements.clear();
+        heavyRequests.clear();
+        statementCount.reset();
+    }
+
+    static String redact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+    }
+
+    /**
+     * Innermost application frame outside the diagnostics itself, e.g. {@code BookingService.doCreateBooking:142}.
+     * Spring and Hibernate proxies are skipped, so a lazy load is attributed to the code that touched it.
+     * Only walked for slow statements, so its cost is paid rarely.
+     */
+    private static Optional<String> origin() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.booking.")
+                        && !isOwnClass(frame.getClassName())
+                        && !frame.getClassName().contains("$$")
+                        && !frame.getClassName().contains("$HibernateProxy$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber()));
+    }
+
+    private static boolean isOwnClass(String className) {
+        return OWN_CLASSES.stream().anyMatch(own -> className.equals(own) || className.startsWith(own + "$"));
+    }
+
+    private static final class RequestScope {
+
+        private final String request;
+        private int statements;
+
+        RequestScope(String request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * A statement that took at least the slow-query threshold.
+     *
+     * @param origin  the application method that issued it, if any
+     * @param request the HTTP request it ran in, if any
+     */
+    public record SlowStatement(Instant at, double durationMs, String sql, boolean batch, String origin,
+                                String request) {
+    }
+
+    /**
+     * A request that executed at least the configured number of statements, typically an N+1.
+     */
+    public record HeavyRequest(Instant at, String route, int statements, double durationMs) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.booking.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size buffer keeping the most recent entries; the oldest entry is overwritten when full.
+ * Writers never block each other, so recording stays cheap on the request path.
+ */
+class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(T entry) {
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), entry);
+    }
+
+    /** Entries currently held, newest first */
+    List<T> snapshot() {
+        long end = written.get();
+        int count = (int) Math.min(end, slots.length());
+        List<T> entries = new ArrayList<>(count);
+        for (long sequence = end - 1; sequence >= end - count; sequence--) {
+            T entry = slots.get((int) (sequence % slots.length()));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /** Total entries ever added, including overwritten ones */
+    long total() {
+        return written.get();
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        written.set(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.booking.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationBackfillResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int chunks;
+    private long rows;
+    private long durationMs;
+}
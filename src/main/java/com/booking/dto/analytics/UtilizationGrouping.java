@@ -0,0 +1,10 @@
+package com.booking.dto.analytics;
+
+/**
+ * How utilization rollups are summed: per room, per location (floor) or per day
+ */
+public enum UtilizationGrouping {
+    RESOURCE,
+    LOCATION,
+    DAY
+}
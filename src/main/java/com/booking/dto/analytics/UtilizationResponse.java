@@ -0,0 +1,24 @@
+package com.booking.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private UtilizationGrouping groupBy;
+    private String location;
+    /** Bookable minutes per resource and day that occupancy is measured against */
+    private int availableMinutesPerDay;
+    private List<UtilizationRow> rows;
+}
@@ -0,0 +1,22 @@
+package com.booking.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationRow {
+
+    /** Resource ID, location or ISO date, depending on the grouping */
+    private String key;
+    private String label;
+    private int resources;
+    private long bookingCount;
+    private long bookedMinutes;
+    private long availableMinutes;
+    private double occupancyPercent;
+}
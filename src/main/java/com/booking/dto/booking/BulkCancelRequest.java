@@ -0,0 +1,31 @@
+package com.booking.dto.booking;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Which future bookings to cancel. Bookings that already started or are canceled are never touched;
+ * {@code dateFrom}/{@code dateTo} bound the start time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancelRequest {
+
+    private Long resourceId;
+    private UUID userId;
+    private LocalDateTime dateFrom;
+    private LocalDateTime dateTo;
+
+    @AssertTrue(message = "At least one filter is required")
+    boolean isFiltered() {
+        return resourceId != null || userId != null || dateFrom != null || dateTo != null;
+    }
+}
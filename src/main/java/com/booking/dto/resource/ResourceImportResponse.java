@@ -0,0 +1,32 @@
+package com.booking.dto.resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceImportResponse {
+
+    private int received;
+    private int inserted;
+    private int updated;
+    private int rejected;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private long durationMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
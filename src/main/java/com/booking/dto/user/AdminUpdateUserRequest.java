@@ -0,0 +1,18 @@
+package com.booking.dto.user;
+
+import com.booking.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminUpdateUserRequest {
+
+    private Role role;
+
+    private Boolean isActive;
+}
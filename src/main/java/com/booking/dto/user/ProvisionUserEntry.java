@@ -0,0 +1,41 @@
+package com.booking.dto.user;
+
+import com.booking.entity.Role;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One account to provision. Give either a plain {@code password}, an existing BCrypt {@code passwordHash},
+ * or neither for an SSO-only account that cannot sign in with a password.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisionUserEntry {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    @Size(max = 255, message = "Email must not exceed 255 characters")
+    private String email;
+
+    @NotBlank(message = "Full name is required")
+    @Size(min = 2, max = 255, message = "Full name must be between 2 and 255 characters")
+    private String fullName;
+
+    private Role role;
+
+    private Boolean isActive;
+
+    @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+    private String password;
+
+    @Pattern(regexp = "^\\$2[aby]?\\$\\d{2}\\$[./0-9A-Za-z]{53}$", message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+}
@@ -0,0 +1,23 @@
+package com.booking.dto.user;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entries are validated one by one when the job runs, so a bad entry is reported by its index instead of
+ * rejecting the whole request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisionUsersRequest {
+
+    @NotEmpty(message = "At least one user is required")
+    private List<ProvisionUserEntry> users;
+}
@@ -0,0 +1,42 @@
+package com.booking.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisioningJobResponse {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private UUID jobId;
+    private Status status;
+    private int total;
+    private int processed;
+    private int created;
+    private int duplicates;
+    private int rejected;
+    /** First skipped or rejected entries, by index (0-based position in the request) */
+    private List<EntryError> errors;
+    private String failure;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryError {
+        private int index;
+        private String email;
+        private String message;
+    }
+}
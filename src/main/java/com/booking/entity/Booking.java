@@ -12,6 +12,7 @@ import java.util.UUID;
 })
 public class Booking {
 
+    // The table's key is (id, start_at) for partitioning; lookups by id alone probe every partition
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,6 +44,14 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /** Whether the booking expires unless confirmed; fixed when it is created */
+    @Column(name = "confirmation_required", nullable = false, updatable = false)
+    private boolean confirmationRequired;
+
+    /** Set by the reminder scheduler only */
+    @Column(name = "reminder_sent_at", insertable = false, updatable = false)
+    private LocalDateTime reminderSentAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -126,4 +135,16 @@ public class Booking {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getReminderSentAt() {
+        return reminderSentAt;
+    }
+
+    public boolean isConfirmationRequired() {
+        return confirmationRequired;
+    }
+
+    public void setConfirmationRequired(boolean confirmationRequired) {
+        this.confirmationRequired = confirmationRequired;
+    }
 }
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
- * Event published to RabbitMQ when a booking is created or canceled.
+ * Event published to RabbitMQ when a booking is created or canceled, or is about to start.
  * Consumed by notification-service for sending notifications.
  */
 public class BookingEvent {
@@ -28,7 +28,8 @@ public class BookingEvent {
 
     public enum EventType {
         BOOKING_CREATED,
-        BOOKING_CANCELED
+        BOOKING_CANCELED,
+        BOOKING_STARTING_SOON
     }
 
     public BookingEvent() {
@@ -64,6 +65,21 @@ public class BookingEvent {
         return event;
     }
 
+    public static BookingEvent startingSoon(Long bookingId, String userEmail, String userFullName,
+                                             String resourceName, LocalDateTime startAt, LocalDateTime endAt) {
+        BookingEvent event = new BookingEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType(EventType.BOOKING_STARTING_SOON);
+        event.setBookingId(bookingId);
+        event.setUserEmail(userEmail);
+        event.setUserFullName(userFullName);
+        event.setResourceName(resourceName);
+        event.setStartAt(startAt);
+        event.setEndAt(endAt);
+        event.setTimestamp(LocalDateTime.now());
+        return event;
+    }
+
     // Getters and Setters
     public String getEventId() {
         return eventId;
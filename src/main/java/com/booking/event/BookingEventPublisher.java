@@ -1,6 +1,8 @@
 package com.booking.event;
 
 import com.booking.entity.Booking;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.AmqpException;
@@ -9,6 +11,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Publishes booking events to RabbitMQ for notification-service consumption.
  * Uses async processing to avoid blocking the main transaction.
@@ -19,6 +24,7 @@ public class BookingEventPublisher {
     private static final Logger log = LoggerFactory.getLogger(BookingEventPublisher.class);
 
     private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.rabbitmq.exchange:booking.events}")
     private String exchange;
@@ -29,8 +35,12 @@ public class BookingEventPublisher {
     @Value("${app.rabbitmq.enabled:true}")
     private boolean enabled;
 
-    public BookingEventPublisher(RabbitTemplate rabbitTemplate) {
+    @Value("${app.rabbitmq.batch-size:500}")
+    private int batchSize;
+
+    public BookingEventPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry) {
         this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -77,12 +87,86 @@ public class BookingEventPublisher {
         publishEvent(event, "booking.canceled");
     }
 
+    /**
+     * Publish canceled events for many bookings, {@code batch-size} per channel checkout instead of one each
+     */
+    @Async
+    public void publishBookingsCanceled(List<BookingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!enabled) {
+            log.debug("RabbitMQ publishing is disabled, skipping {} canceled events", events.size());
+            return;
+        }
+        publishBatches(events, "booking.canceled");
+    }
+
+    /**
+     * Publish starting-soon reminders, batched like {@link #publishBookingsCanceled} but on the caller's thread,
+     * so the caller learns which reminders did not go out; returns their booking ids
+     */
+    public List<Long> publishStartingSoon(List<BookingEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        if (!enabled) {
+            log.debug("RabbitMQ publishing is disabled, skipping {} reminder events", events.size());
+            return List.of();
+        }
+        return publishBatches(events, "booking.starting-soon");
+    }
+
+    private List<Long> publishBatches(List<BookingEvent> events, String routingKey) {
+        List<Long> failed = new ArrayList<>();
+        for (int from = 0; from < events.size(); from += batchSize) {
+            List<BookingEvent> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+            if (!publishBatch(batch, routingKey)) {
+                batch.forEach(event -> failed.add(event.getBookingId()));
+            }
+        }
+        return failed;
+    }
+
+    private boolean publishBatch(List<BookingEvent> events, String routingKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            log.info("Publishing {} {} events", events.size(), events.get(0).getEventType());
+
+            // One channel for the whole batch
+            rabbitTemplate.invoke(operations -> {
+                for (BookingEvent event : events) {
+                    operations.convertAndSend(exchange, routingKey, event);
+                }
+                return null;
+            });
+            outcome = "success";
+            return true;
+        } catch (AmqpException e) {
+            // Log error but don't fail the booking operation
+            log.error("Failed to publish a batch of {} {} events (bookings {} to {}): {}",
+                    events.size(), events.get(0).getEventType(), events.get(0).getBookingId(),
+                    events.get(events.size() - 1).getBookingId(), e.getMessage());
+            return false;
+        } finally {
+            sample.stop(Timer.builder("booking.events.publish.batch")
+                    .description("RabbitMQ publish latency of an event batch")
+                    .tag("type", events.get(0).getEventType().name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
     private void publishEvent(BookingEvent event, String routingKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             log.info("Publishing {} event: bookingId={}, eventId={}", 
                     event.getEventType(), event.getBookingId(), event.getEventId());
             
             rabbitTemplate.convertAndSend(exchange, routingKey, event);
+            outcome = "success";
             
             log.debug("Successfully published event {} to exchange '{}' with routing key '{}'",
                     event.getEventId(), exchange, routingKey);
@@ -90,6 +174,12 @@ public class BookingEventPublisher {
             // Log error but don't fail the booking operation
             log.error("Failed to publish {} event for booking {}: {}",
                     event.getEventType(), event.getBookingId(), e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("booking.events.publish")
+                    .description("RabbitMQ publish latency; count by outcome gives failures")
+                    .tag("type", event.getEventType().name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 }
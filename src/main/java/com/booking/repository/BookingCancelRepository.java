@@ -0,0 +1,168 @@
+package com.booking.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cancels a booking with a single conditional UPDATE that checks ownership, status and start time and
+ * returns the row, instead of loading the entity, checking in Java and flushing it back.
+ * The {@code start_at > now} condition also keeps past months' partitions out of the statement.
+ * {@link #cancelAll} does the same for every future booking matching a filter, and {@link #releaseUnconfirmed}
+ * for bookings that missed their confirmation deadline.
+ */
+@Repository
+public class BookingCancelRepository {
+
+    private static final String CONDITIONAL_UPDATE = """
+            UPDATE bookings SET status = 'CANCELED', updated_at = ?
+            WHERE id = ? AND status <> 'CANCELED' AND start_at > ? AND (user_id = ? OR ?)""";
+
+    private static final String RETURNED_COLUMNS = "id, resource_id, user_id, start_at, end_at, description, created_at";
+
+    /** PostgreSQL */
+    private static final String CANCEL_RETURNING = CONDITIONAL_UPDATE + " RETURNING " + RETURNED_COLUMNS;
+
+    /** H2 has no RETURNING; a data change delta table gives the same single statement */
+    private static final String CANCEL_FINAL_TABLE = "SELECT " + RETURNED_COLUMNS + " FROM FINAL TABLE ("
+            + CONDITIONAL_UPDATE + ")";
+
+    private static final String BULK_UPDATE = """
+            UPDATE bookings SET status = 'CANCELED', updated_at = ?
+            WHERE status <> 'CANCELED' AND start_at > ?""";
+
+    /** Unconfirmed bookings whose confirmation deadline passed */
+    private static final String RELEASE_UPDATE = """
+            UPDATE bookings SET status = 'CANCELED', updated_at = ?
+            WHERE status = 'CREATED' AND confirmation_required AND start_at > ? AND start_at <= ?""";
+
+    private static final String BULK_RETURNED_COLUMNS = "id, resource_id, user_id, start_at, end_at";
+
+    /** What a cancellation event needs, joined in by the same statement */
+    private static final String BULK_SELECT = """
+            SELECT c.id, c.resource_id, r.name AS resource_name, c.user_id, u.email AS user_email,
+                   u.full_name AS user_full_name, c.start_at, c.end_at
+            FROM %s c
+            JOIN resources r ON r.id = c.resource_id
+            JOIN users u ON u.id = c.user_id""";
+
+    private static final RowMapper<CanceledBooking> ROW_MAPPER = (rs, rowNum) -> new CanceledBooking(
+            rs.getLong("id"),
+            rs.getLong("resource_id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("start_at", LocalDateTime.class),
+            rs.getObject("end_at", LocalDateTime.class),
+            rs.getString("description"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private static final RowMapper<BulkCanceledBooking> BULK_ROW_MAPPER = (rs, rowNum) -> new BulkCanceledBooking(
+            rs.getLong("id"),
+            rs.getLong("resource_id"),
+            rs.getString("resource_name"),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("user_email"),
+            rs.getString("user_full_name"),
+            rs.getObject("start_at", LocalDateTime.class),
+            rs.getObject("end_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final String cancelSql;
+
+    public BookingCancelRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+        this.cancelSql = postgres ? CANCEL_RETURNING : CANCEL_FINAL_TABLE;
+    }
+
+    /**
+     * Cancel booking {@code id} if it is not canceled yet, starts after {@code now} and belongs to
+     * {@code userId} (any owner when {@code admin}). Empty when nothing matched.
+     */
+    public Optional<CanceledBooking> cancel(Long id, UUID userId, boolean admin, LocalDateTime now) {
+        List<CanceledBooking> rows = jdbcTemplate.query(cancelSql, ROW_MAPPER,
+                now, id, now, userId, admin);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Cancel every booking that starts after {@code now} and matches the given filters (null ones are ignored),
+     * in one set-based UPDATE. Returns the canceled bookings with the owner and resource names.
+     */
+    public List<BulkCanceledBooking> cancelAll(Long resourceId, UUID userId, LocalDateTime dateFrom,
+                                               LocalDateTime dateTo, LocalDateTime now) {
+        StringBuilder update = new StringBuilder(BULK_UPDATE);
+        List<Object> args = new ArrayList<>(6);
+        args.add(now);
+        args.add(now);
+        if (resourceId != null) {
+            update.append(" AND resource_id = ?");
+            args.add(resourceId);
+        }
+        if (userId != null) {
+            update.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (dateFrom != null) {
+            update.append(" AND start_at >= ?");
+            args.add(dateFrom);
+        }
+        if (dateTo != null) {
+            update.append(" AND start_at < ?");
+            args.add(dateTo);
+        }
+
+        return bulkCancel(update, args);
+    }
+
+    /**
+     * Release the given bookings if they are still unconfirmed and started at or before {@code startedBy}
+     * (and after {@code startedAfter}, which bounds the partitions scanned)
+     */
+    public List<BulkCanceledBooking> releaseUnconfirmed(Collection<Long> ids, LocalDateTime startedAfter,
+                                                       LocalDateTime startedBy, LocalDateTime now) {
+        StringBuilder update = new StringBuilder(RELEASE_UPDATE)
+                .append(" AND id IN (")
+                .append(String.join(", ", Collections.nCopies(ids.size(), "?")))
+                .append(')');
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(now);
+        args.add(startedAfter);
+        args.add(startedBy);
+        args.addAll(ids);
+        return bulkCancel(update, args);
+    }
+
+    /**
+     * Release every unconfirmed booking that started in ({@code startedAfter}, {@code startedBy}]
+     */
+    public List<BulkCanceledBooking> releaseOverdue(LocalDateTime startedAfter, LocalDateTime startedBy,
+                                                   LocalDateTime now) {
+        return bulkCancel(new StringBuilder(RELEASE_UPDATE), new ArrayList<>(List.of(now, startedAfter, startedBy)));
+    }
+
+    private List<BulkCanceledBooking> bulkCancel(StringBuilder update, List<Object> args) {
+        String sql = postgres
+                ? "WITH canceled AS (" + update + " RETURNING " + BULK_RETURNED_COLUMNS + ") "
+                        + BULK_SELECT.formatted("canceled")
+                : BULK_SELECT.formatted("FINAL TABLE (" + update + ")");
+        return jdbcTemplate.query(sql, BULK_ROW_MAPPER, args.toArray());
+    }
+
+    public record CanceledBooking(Long id, Long resourceId, UUID userId, LocalDateTime startAt, LocalDateTime endAt,
+                                  String description, LocalDateTime createdAt) {
+    }
+
+    public record BulkCanceledBooking(Long id, Long resourceId, String resourceName, UUID userId, String userEmail,
+                                      String userFullName, LocalDateTime startAt, LocalDateTime endAt) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.booking.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Confirms bookings with a single conditional UPDATE, like {@link BookingCancelRepository} cancels them, and finds
+ * the unconfirmed bookings whose deadlines fall into a window for the expiry wheel.
+ */
+@Repository
+public class BookingConfirmationRepository {
+
+    private static final String CONDITIONAL_UPDATE = """
+            UPDATE bookings SET status = 'CONFIRMED', updated_at = ?
+            WHERE id = ? AND status = 'CREATED' AND start_at > ? AND (user_id = ? OR ?)""";
+
+    /** Check-in additionally requires the start to be close */
+    private static final String CHECK_IN_UPDATE = CONDITIONAL_UPDATE + " AND start_at <= ?";
+
+    private static final String RETURNED_COLUMNS = "id, resource_id, user_id, start_at, end_at, description, created_at";
+
+    private static final String FIND_UNCONFIRMED = """
+            SELECT id, start_at FROM bookings
+            WHERE status = 'CREATED' AND confirmation_required AND start_at >= ? AND start_at < ?""";
+
+    private static final RowMapper<ConfirmedBooking> ROW_MAPPER = (rs, rowNum) -> new ConfirmedBooking(
+            rs.getLong("id"),
+            rs.getLong("resource_id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("start_at", LocalDateTime.class),
+            rs.getObject("end_at", LocalDateTime.class),
+            rs.getString("description"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String confirmSql;
+    private final String checkInSql;
+
+    public BookingConfirmationRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = DatabaseProduct.isPostgres(dataSource);
+        this.confirmSql = returning(CONDITIONAL_UPDATE, postgres);
+        this.checkInSql = returning(CHECK_IN_UPDATE, postgres);
+    }
+
+    /**
+     * Confirm booking {@code id} if it is unconfirmed, starts after {@code earliestStart} and belongs to
+     * {@code userId} (any owner when {@code admin}). With {@code latestStart} it must also start no later than
+     * that (check-in). Empty when nothing matched.
+     */
+    public Optional<ConfirmedBooking> confirm(Long id, UUID userId, boolean admin, LocalDateTime earliestStart,
+                                              LocalDateTime latestStart, LocalDateTime now) {
+        List<ConfirmedBooking> rows = latestStart == null
+                ? jdbcTemplate.query(confirmSql, ROW_MAPPER, now, id, earliestStart, userId, admin)
+                : jdbcTemplate.query(checkInSql, ROW_MAPPER, now, id, earliestStart, userId, admin, latestStart);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Unconfirmed bookings starting in [startFrom, startTo)
+     */
+    public List<Unconfirmed> findUnconfirmed(LocalDateTime startFrom, LocalDateTime startTo) {
+        return jdbcTemplate.query(FIND_UNCONFIRMED,
+                (rs, rowNum) -> new Unconfirmed(rs.getLong("id"), rs.getObject("start_at", LocalDateTime.class)),
+                startFrom, startTo);
+    }
+
+    private static String returning(String update, boolean postgres) {
+        return postgres
+                ? update + " RETURNING " + RETURNED_COLUMNS
+                : "SELECT " + RETURNED_COLUMNS + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    public record ConfirmedBooking(Long id, Long resourceId, UUID userId, LocalDateTime startAt, LocalDateTime endAt,
+                                   String description, LocalDateTime createdAt) {
+    }
+
+    public record Unconfirmed(Long id, LocalDateTime startAt) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.entity.BookingStatus;
+import com.booking.exception.ApiException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The booking list query, without Criteria.
+ * <p>
+ * Each filter is one bit of a mask, and the SELECT and COUNT text for all 32 combinations, over the live table
+ * and over the {@code booking_history} view, is built once when the class loads. A request picks its statement
+ * by mask, appends the ORDER BY for its (whitelisted) sort, binds the filter values positionally in bit order
+ * and maps rows straight to {@link BookingResponse}, with resource and user names joined in.
+ */
+@Repository
+public class BookingListQueries {
+
+    static final int USER = 1;
+    static final int RESOURCE = 1 << 1;
+    static final int STATUS = 1 << 2;
+    static final int DATE_FROM = 1 << 3;
+    static final int DATE_TO = 1 << 4;
+    static final int COMBINATIONS = 1 << 5;
+
+    private static final String SELECT = """
+            SELECT b.id, b.resource_id, r.name AS resource_name, b.user_id, u.full_name AS user_full_name,
+                   b.start_at, b.end_at, b.status, b.description, b.created_at
+            FROM %s b
+            JOIN resources r ON r.id = b.resource_id
+            JOIN users u ON u.id = b.user_id""";
+
+    private static final String COUNT = "SELECT COUNT(*) FROM %s b";
+
+    /**
+     * Sortable properties of BookingResponse, and the Booking paths the former JPA query accepted for the same
+     * columns; anything else is rejected rather than concatenated
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("id", "b.id"),
+            Map.entry("startAt", "b.start_at"),
+            Map.entry("endAt", "b.end_at"),
+            Map.entry("createdAt", "b.created_at"),
+            Map.entry("updatedAt", "b.updated_at"),
+            Map.entry("status", "b.status"),
+            Map.entry("description", "b.description"),
+            Map.entry("resourceId", "b.resource_id"),
+            Map.entry("resourceName", "r.name"),
+            Map.entry("resource.name", "r.name"),
+            Map.entry("userFullName", "u.full_name"),
+            Map.entry("user.fullName", "u.full_name"));
+
+    private static final Compiled[] LIVE = compile("bookings");
+    private static final Compiled[] HISTORY = compile("booking_history");
+
+    private static final RowMapper<BookingResponse> ROW_MAPPER = (rs, rowNum) -> {
+        BookingResponse response = new BookingResponse();
+        response.setId(rs.getLong("id"));
+        response.setResourceId(rs.getLong("resource_id"));
+        response.setResourceName(rs.getString("resource_name"));
+        response.setUserId(rs.getObject("user_id", UUID.class));
+        response.setUserFullName(rs.getString("user_full_name"));
+        response.setStartAt(rs.getObject("start_at", LocalDateTime.class));
+        response.setEndAt(rs.getObject("end_at", LocalDateTime.class));
+        response.setStatus(BookingStatus.valueOf(rs.getString("status")));
+        response.setDescription(rs.getString("description"));
+        response.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return response;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingListQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * One page of bookings matching {@code filter}, restricted to {@code userId} when it is not null.
+     * With {@code includeArchive} the archived bookings are searched too.
+     */
+    public Page<BookingResponse> findPage(BookingFilterRequest filter, UUID userId, boolean includeArchive,
+                                          Pageable pageable) {
+        int mask = mask(filter, userId);
+        Compiled compiled = (includeArchive ? HISTORY : LIVE)[mask];
+        List<Object> args = args(mask, filter, userId);
+
+        String sql = compiled.select() + orderBy(pageable.getSort());
+        List<BookingResponse> content;
+        if (pageable.isPaged()) {
+            List<Object> pageArgs = new ArrayList<>(args);
+            pageArgs.add(pageable.getPageSize());
+            pageArgs.add(pageable.getOffset());
+            content = jdbcTemplate.query(sql + " LIMIT ? OFFSET ?", ROW_MAPPER, pageArgs.toArray());
+        } else {
+            content = jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+        }
+
+        // Skips the count when the page itself shows the total, as Spring Data does
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Long total = jdbcTemplate.queryForObject(compiled.count(), Long.class, args.toArray());
+            return total != null ? total : 0;
+        });
+    }
+
+    static int mask(BookingFilterRequest filter, UUID userId) {
+        int mask = 0;
+        if (userId != null) mask |= USER;
+        if (filter.getResourceId() != null) mask |= RESOURCE;
+        if (filter.getStatus() != null) mask |= STATUS;
+        if (filter.getDateFrom() != null) mask |= DATE_FROM;
+        if (filter.getDateTo() != null) mask |= DATE_TO;
+        return mask;
+    }
+
+    /** Parameters in the order {@link #where} emits their placeholders */
+    private static List<Object> args(int mask, BookingFilterRequest filter, UUID userId) {
+        List<Object> args = new ArrayList<>(6);
+        if ((mask & USER) != 0) args.add(userId);
+        if ((mask & RESOURCE) != 0) args.add(filter.getResourceId());
+        if ((mask & STATUS) != 0) args.add(filter.getStatus().name());
+        if ((mask & DATE_FROM) != 0) args.add(filter.getDateFrom());
+        if ((mask & DATE_TO) != 0) {
+            args.add(filter.getDateTo());
+            args.add(filter.getDateTo());
+        }
+        return args;
+    }
+
+    static String where(int mask) {
+        List<String> conditions = new ArrayList<>(6);
+        if ((mask & USER) != 0) conditions.add("b.user_id = ?");
+        if ((mask & RESOURCE) != 0) conditions.add("b.resource_id = ?");
+        if ((mask & STATUS) != 0) conditions.add("b.status = ?");
+        if ((mask & DATE_FROM) != 0) conditions.add("b.start_at >= ?");
+        if ((mask & DATE_TO) != 0) {
+            // Implied by end_at <= dateTo; bounds the partition key so later months are pruned
+            conditions.add("b.start_at < ?");
+            conditions.add("b.end_at <= ?");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static Compiled[] compile(String table) {
+        Compiled[] compiled = new Compiled[COMBINATIONS];
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            String where = where(mask);
+            compiled[mask] = new Compiled(SELECT.formatted(table) + where, COUNT.formatted(table) + where);
+        }
+        return compiled;
+    }
+
+    /** Requested order, then id so pages are stable */
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Cannot sort bookings by '" + order.getProperty() + "'");
+            }
+            orderBy.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+            byId |= column.equals("b.id");
+        }
+        if (byId) {
+            return orderBy.substring(0, orderBy.length() - 2);
+        }
+        return orderBy.append("b.id DESC").toString();
+    }
+
+    private record Compiled(String select, String count) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.booking.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the bookings of a reminder window and claims reminders for sending. A claim is one UPDATE that stamps
+ * {@code reminder_sent_at} on the bookings still waiting for it and returns what the event needs, so a reminder
+ * loaded by several instances is sent by exactly one. Claims whose events could not be published are released.
+ */
+@Repository
+public class BookingReminderRepository {
+
+    private static final String FIND_PENDING = """
+            SELECT id, start_at FROM bookings
+            WHERE reminder_sent_at IS NULL AND status <> 'CANCELED' AND start_at >= ? AND start_at < ?""";
+
+    private static final String CLAIM_UPDATE = """
+            UPDATE bookings SET reminder_sent_at = ?
+            WHERE reminder_sent_at IS NULL AND status <> 'CANCELED' AND start_at > ? AND id IN (%s)""";
+
+    private static final String RELEASE_UPDATE = """
+            UPDATE bookings SET reminder_sent_at = NULL
+            WHERE reminder_sent_at IS NOT NULL AND id IN (%s)""";
+
+    private static final String CLAIM_SELECT = """
+            SELECT c.id, r.name AS resource_name, u.email AS user_email, u.full_name AS user_full_name,
+                   c.start_at, c.end_at
+            FROM %s c
+            JOIN resources r ON r.id = c.resource_id
+            JOIN users u ON u.id = c.user_id""";
+
+    private static final RowMapper<Reminder> REMINDER_MAPPER = (rs, rowNum) -> new Reminder(
+            rs.getLong("id"),
+            rs.getString("resource_name"),
+            rs.getString("user_email"),
+            rs.getString("user_full_name"),
+            rs.getObject("start_at", LocalDateTime.class),
+            rs.getObject("end_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public BookingReminderRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    /**
+     * Bookings starting in [startFrom, startTo) that have not been canceled or reminded
+     */
+    public List<Pending> findPending(LocalDateTime startFrom, LocalDateTime startTo) {
+        return jdbcTemplate.query(FIND_PENDING,
+                (rs, rowNum) -> new Pending(rs.getLong("id"), rs.getObject("start_at", LocalDateTime.class)),
+                startFrom, startTo);
+    }
+
+    /**
+     * Mark the given bookings reminded if they still start after {@code now}, are not canceled and were not
+     * reminded yet; returns the ones this call claimed
+     */
+    public List<Reminder> claim(Collection<Long> ids, LocalDateTime now) {
+        String update = CLAIM_UPDATE.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+        String sql = postgres
+                ? "WITH claimed AS (" + update + " RETURNING id, resource_id, user_id, start_at, end_at) "
+                        + CLAIM_SELECT.formatted("claimed")
+                : CLAIM_SELECT.formatted("FINAL TABLE (" + update + ")");
+        List<Object> args = new ArrayList<>(ids.size() + 2);
+        args.add(now);
+        args.add(now);
+        args.addAll(ids);
+        return jdbcTemplate.query(sql, REMINDER_MAPPER, args.toArray());
+    }
+
+    /**
+     * Hand back claimed reminders that could not be published, so a later claim picks them up again. Only the
+     * instance that claimed the bookings calls this; until then no other claim can take them.
+     */
+    public int release(Collection<Long> ids) {
+        String sql = RELEASE_UPDATE.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+        return jdbcTemplate.update(sql, ids.toArray());
+    }
+
+    public record Pending(Long id, LocalDateTime startAt) {
+    }
+
+    public record Reminder(Long id, String resourceName, String userEmail, String userFullName,
+                           LocalDateTime startAt, LocalDateTime endAt) {
+    }
+}
@@ -19,29 +19,36 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
      * Check for overlapping bookings on the same resource.
      * Overlap condition: new.startAt < existing.endAt AND new.endAt > existing.startAt
      * Only checks non-canceled bookings.
+     * <p>
+     * {@code earliestStart} is {@code startAt} minus the longest allowed booking: no overlapping booking can
+     * start earlier, and the bound on the partition key keeps past months' partitions out of the scan.
      */
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
            "WHERE b.resource.id = :resourceId " +
            "AND b.status <> 'CANCELED' " +
+           "AND b.startAt > :earliestStart " +
            "AND b.startAt < :endAt " +
            "AND b.endAt > :startAt")
     boolean existsOverlappingBooking(
             @Param("resourceId") Long resourceId,
             @Param("startAt") LocalDateTime startAt,
-            @Param("endAt") LocalDateTime endAt);
+            @Param("endAt") LocalDateTime endAt,
+            @Param("earliestStart") LocalDateTime earliestStart);
 
     /**
-     * Find overlapping bookings (for detailed conflict info)
+     * Find overlapping bookings (for detailed conflict info), pruned like {@link #existsOverlappingBooking}
      */
     @Query("SELECT b FROM Booking b " +
            "WHERE b.resource.id = :resourceId " +
            "AND b.status <> 'CANCELED' " +
+           "AND b.startAt > :earliestStart " +
            "AND b.startAt < :endAt " +
            "AND b.endAt > :startAt")
     List<Booking> findOverlappingBookings(
             @Param("resourceId") Long resourceId,
             @Param("startAt") LocalDateTime startAt,
-            @Param("endAt") LocalDateTime endAt);
+            @Param("endAt") LocalDateTime endAt,
+            @Param("earliestStart") LocalDateTime earliestStart);
 
     /**
      * Find all bookings by user
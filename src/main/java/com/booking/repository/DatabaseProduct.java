@@ -0,0 +1,30 @@
+package com.booking.repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Which database the application talks to, for the statements that differ between PostgreSQL and H2
+ * (tests and the load harness).
+ */
+public final class DatabaseProduct {
+
+    private DatabaseProduct() {
+    }
+
+    /**
+     * Whether {@code dataSource} is PostgreSQL, by the product name its driver reports. Assumed when the
+     * metadata cannot be read, since production always runs on PostgreSQL.
+     */
+    public static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.resource.ResourceFilterRequest;
+import com.booking.dto.resource.ResourceResponse;
+import com.booking.entity.BookingStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking read queries over R2DBC for the streaming endpoints.
+ * <p>
+ * Rows are mapped straight to response DTOs and emitted as the driver decodes them; demand from the
+ * HTTP response drives how many rows are fetched, so a slow client does not buffer the whole result.
+ * The connection pool is private to this class rather than a bean, which keeps R2DBC out of the JPA
+ * and transaction-manager auto-configuration.
+ */
+@Slf4j
+@Repository
+public class ReactiveReadRepository {
+
+    /** Over {@code bookings}, or the {@code booking_history} view when archived bookings are included */
+    private static final String BOOKING_SELECT = """
+            SELECT b.id, b.resource_id, r.name AS resource_name, b.user_id, u.full_name AS user_full_name,
+                   b.start_at, b.end_at, b.status, b.description, b.created_at
+            FROM %s b
+            JOIN resources r ON r.id = b.resource_id
+            JOIN users u ON u.id = b.user_id""";
+
+    private static final String RESOURCE_SELECT = """
+            SELECT id, name, location, capacity, description, is_active, created_at, updated_at
+            FROM resources""";
+
+    private final ConnectionPool pool;
+    private final int fetchSize;
+
+    public ReactiveReadRepository(
+            @Value("${app.reactive.url}") String url,
+            @Value("${app.reactive.username:}") String username,
+            @Value("${app.reactive.password:}") String password,
+            @Value("${app.reactive.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.pool.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${app.reactive.fetch-size:256}") int fetchSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("booking-reactive")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(acquireTimeoutMs))
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream bookings newest first, optionally restricted to one user; {@code includeArchive} also reads
+     * {@code bookings_archive}
+     */
+    public Flux<BookingResponse> streamBookings(BookingFilterRequest filter, UUID userId, boolean includeArchive,
+                                                int limit) {
+        Query query = new Query(BOOKING_SELECT.formatted(includeArchive ? "booking_history" : "bookings"));
+        query.where("b.user_id", "=", userId);
+        query.where("b.resource_id", "=", filter.getResourceId());
+        query.where("b.status", "=", filter.getStatus() != null ? filter.getStatus().name() : null);
+        query.where("b.start_at", ">=", filter.getDateFrom());
+        query.where("b.start_at", "<", filter.getDateTo());  // implied by end_at, prunes later partitions
+        query.where("b.end_at", "<=", filter.getDateTo());
+        query.orderByAndLimit("b.start_at DESC, b.id DESC", limit);
+        return stream(query, ReactiveReadRepository::toBookingResponse);
+    }
+
+    /**
+     * Stream resources by name; only active ones unless {@code isActive} is given
+     */
+    public Flux<ResourceResponse> streamResources(ResourceFilterRequest filter, int limit) {
+        Query query = new Query(RESOURCE_SELECT);
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            query.where("LOWER(name)", "LIKE", "%" + filter.getName().toLowerCase() + "%");
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            query.where("LOWER(location)", "LIKE", "%" + filter.getLocation().toLowerCase() + "%");
+        }
+        query.where("capacity", ">=", filter.getCapacityMin());
+        query.where("is_active", "=", filter.getIsActive() != null ? filter.getIsActive() : Boolean.TRUE);
+        query.orderByAndLimit("name ASC, id ASC", limit);
+        return stream(query, ReactiveReadRepository::toResourceResponse);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    private <T> Flux<T> stream(Query query, Function<Readable, T> mapper) {
+        return Flux.usingWhen(
+                pool.create(),
+                connection -> Flux.from(query.bind(connection).fetchSize(fetchSize).execute())
+                        .concatMap(result -> result.map(mapper)),
+                Connection::close,
+                (connection, error) -> connection.close(),
+                Connection::close);
+    }
+
+    private static BookingResponse toBookingResponse(Readable row) {
+        BookingResponse response = new BookingResponse();
+        response.setId(row.get("id", Long.class));
+        response.setResourceId(row.get("resource_id", Long.class));
+        response.setResourceName(row.get("resource_name", String.class));
+        response.setUserId(row.get("user_id", UUID.class));
+        response.setUserFullName(row.get("user_full_name", String.class));
+        response.setStartAt(row.get("start_at", LocalDateTime.class));
+        response.setEndAt(row.get("end_at", LocalDateTime.class));
+        response.setStatus(BookingStatus.valueOf(row.get("status", String.class)));
+        response.setDescription(row.get("description", String.class));
+        response.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return response;
+    }
+
+    private static ResourceResponse toResourceResponse(Readable row) {
+        return ResourceResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .location(row.get("location", String.class))
+                .capacity(row.get("capacity", Integer.class))
+                .description(row.get("description", String.class))
+                .isActive(row.get("is_active", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * SQL with positional {@code $n} markers, understood by both the Postgres and H2 drivers.
+     */
+    private static class Query {
+
+        private final StringBuilder sql;
+        private final List<Object> params = new ArrayList<>();
+
+        Query(String select) {
+            this.sql = new StringBuilder(select);
+        }
+
+        void where(String column, String operator, Object value) {
+            if (value == null) {
+                return;
+            }
+            params.add(value);
+            sql.append(params.size() == 1 ? " WHERE " : " AND ")
+                    .append(column).append(' ').append(operator).append(" $").append(params.size());
+        }
+
+        void orderByAndLimit(String orderBy, int limit) {
+            params.add(limit);
+            sql.append(" ORDER BY ").append(orderBy).append(" LIMIT $").append(params.size());
+        }
+
+        Statement bind(Connection connection) {
+            Statement statement = connection.createStatement(sql.toString());
+            for (int i = 0; i < params.size(); i++) {
+                statement.bind(i, params.get(i));
+            }
+            return statement;
+        }
+    }
+}
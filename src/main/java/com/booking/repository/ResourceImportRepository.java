@@ -0,0 +1,322 @@
+package com.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Set-based resource import through a per-transaction staging table.
+ * <p>
+ * Rows are streamed into {@code resource_import_staging} with the PostgreSQL COPY protocol, or with JDBC
+ * batches on other databases (H2 in tests). Validation marks rejected rows with an error in a few statements
+ * over the whole table, and a single MERGE applies the rest to {@code resources}: rows matching an existing
+ * resource by name and location update it, the others insert a new one. All methods must run in the same
+ * transaction; the staging table is dropped on commit.
+ */
+@Slf4j
+@Repository
+public class ResourceImportRepository {
+
+    private static final String STAGING_COLUMNS = """
+            resource_import_staging (
+                row_no INTEGER NOT NULL,
+                name VARCHAR(1000),
+                location VARCHAR(1000),
+                capacity INTEGER,
+                description TEXT,
+                is_active BOOLEAN,
+                error VARCHAR(255)
+            )""";
+
+    private static final String CREATE_STAGING = "CREATE TEMPORARY TABLE " + STAGING_COLUMNS + " ON COMMIT DROP";
+
+    /** H2 keeps TEMPORARY tables across transactions and commits on CREATE unless it is TRANSACTIONAL */
+    private static final String CREATE_STAGING_H2 =
+            "CREATE LOCAL TEMPORARY TABLE " + STAGING_COLUMNS + " ON COMMIT DROP TRANSACTIONAL";
+
+    private static final String COPY_STAGING = """
+            COPY resource_import_staging (row_no, name, location, capacity, description, is_active, error)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String INSERT_STAGING = """
+            INSERT INTO resource_import_staging (row_no, name, location, capacity, description, is_active, error)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SAME_KEY = "r.name = s.name AND (r.location = s.location OR (r.location IS NULL AND s.location IS NULL))";
+
+    /** Checks in order; a row keeps the first error it fails */
+    private static final List<String> VALIDATIONS = List.of(
+            "UPDATE resource_import_staging SET error = 'Name is required' "
+                    + "WHERE error IS NULL AND (name IS NULL OR TRIM(name) = '')",
+            "UPDATE resource_import_staging SET error = 'Name must not exceed 255 characters' "
+                    + "WHERE error IS NULL AND LENGTH(name) > 255",
+            "UPDATE resource_import_staging SET error = 'Location must not exceed 255 characters' "
+                    + "WHERE error IS NULL AND LENGTH(location) > 255",
+            "UPDATE resource_import_staging SET error = 'Capacity is required' "
+                    + "WHERE error IS NULL AND capacity IS NULL",
+            "UPDATE resource_import_staging SET error = 'Capacity must be at least 1' "
+                    + "WHERE error IS NULL AND capacity < 1",
+            "UPDATE resource_import_staging s SET error = 'Duplicate of an earlier row with the same name and location' "
+                    + "WHERE error IS NULL AND EXISTS (SELECT 1 FROM resource_import_staging r "
+                    + "WHERE r.row_no < s.row_no AND r.error IS NULL AND " + SAME_KEY + ")",
+            "UPDATE resource_import_staging s SET error = 'Matches more than one existing resource' "
+                    + "WHERE error IS NULL AND (SELECT COUNT(*) FROM resources r WHERE " + SAME_KEY + ") > 1");
+
+    private static final String COUNT_EXISTING = """
+            SELECT COUNT(*) FROM resource_import_staging s
+            WHERE s.error IS NULL AND EXISTS (SELECT 1 FROM resources r WHERE\s""" + SAME_KEY + ")";
+
+    /** Active resources a valid row is about to deactivate; their future bookings have to be canceled */
+    private static final String DEACTIVATING = """
+            SELECT r.id FROM resources r
+            JOIN resource_import_staging s ON\s""" + SAME_KEY + """
+
+            WHERE s.error IS NULL AND r.is_active AND s.is_active = FALSE""";
+
+    private static final String MERGE = """
+            MERGE INTO resources r
+            USING (SELECT name, location, capacity, description, is_active
+                   FROM resource_import_staging WHERE error IS NULL) s
+            ON\s""" + SAME_KEY + """
+
+            WHEN MATCHED THEN
+                UPDATE SET capacity = s.capacity, description = COALESCE(s.description, r.description),
+                           is_active = s.is_active, updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN
+                INSERT (name, location, capacity, description, is_active, created_at, updated_at)
+                VALUES (s.name, s.location, s.capacity, s.description, s.is_active, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public ResourceImportRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    /**
+     * Create the staging table and return a writer for it, using COPY when the database is PostgreSQL
+     */
+    public StagingWriter openStaging(int batchSize) {
+        jdbcTemplate.execute(postgres ? CREATE_STAGING : CREATE_STAGING_H2);
+        // The transaction's connection; it stays open until the transaction ends
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (postgres) {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+                return new CopyStagingWriter(copyIn);
+            }
+            return new BatchStagingWriter(connection.prepareStatement(INSERT_STAGING), batchSize);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not open the import staging table", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Mark invalid rows, then merge the valid ones into resources. The result names the resources the merge
+     * deactivated.
+     */
+    public MergeResult validateAndMerge() {
+        if (postgres) {
+            // Other databases commit on DDL, which would drop the staging table.
+            // Temporary tables are never analyzed automatically.
+            jdbcTemplate.execute("CREATE INDEX resource_import_staging_key ON resource_import_staging (name, location)");
+            jdbcTemplate.execute("ANALYZE resource_import_staging");
+        }
+        VALIDATIONS.forEach(jdbcTemplate::update);
+
+        Integer existing = jdbcTemplate.queryForObject(COUNT_EXISTING, Integer.class);
+        List<Long> deactivated = jdbcTemplate.queryForList(DEACTIVATING, Long.class);
+        int merged = jdbcTemplate.update(MERGE);
+        int updated = existing != null ? existing : 0;
+        return new MergeResult(merged - updated, updated, deactivated);
+    }
+
+    public int countRejected() {
+        Integer rejected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM resource_import_staging WHERE error IS NOT NULL", Integer.class);
+        return rejected != null ? rejected : 0;
+    }
+
+    public List<RowError> findErrors(int limit) {
+        return jdbcTemplate.query(
+                "SELECT row_no, error FROM resource_import_staging WHERE error IS NOT NULL ORDER BY row_no LIMIT ?",
+                (rs, rowNum) -> new RowError(rs.getInt("row_no"), rs.getString("error")), limit);
+    }
+
+    /**
+     * One parsed input row; {@code error} is set when the row could not be parsed
+     */
+    public record StagedRow(int rowNo, String name, String location, Integer capacity, String description,
+                            Boolean isActive, String error) {
+    }
+
+    public record MergeResult(int inserted, int updated, List<Long> deactivated) {
+
+        public MergeResult(int inserted, int updated) {
+            this(inserted, updated, List.of());
+        }
+    }
+
+    public record RowError(int row, String message) {
+    }
+
+    /**
+     * Streams rows into the staging table. {@link #finish()} completes the load; {@link #close()} releases
+     * the writer and aborts an unfinished load.
+     */
+    public interface StagingWriter extends AutoCloseable {
+
+        void write(StagedRow row);
+
+        void finish();
+
+        @Override
+        void close();
+    }
+
+    /** Rows encoded as CSV and sent in chunks over COPY FROM STDIN */
+    static class CopyStagingWriter implements StagingWriter {
+
+        private static final int FLUSH_BYTES = 64 * 1024;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+        private boolean finished;
+
+        CopyStagingWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void write(StagedRow row) {
+            buffer.append(row.rowNo()).append(',');
+            appendCsv(row.name()).append(',');
+            appendCsv(row.location()).append(',');
+            buffer.append(row.capacity() != null ? row.capacity() : "").append(',');
+            appendCsv(row.description()).append(',');
+            buffer.append(row.isActive() != null ? row.isActive() : "").append(',');
+            appendCsv(row.error()).append('\n');
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        @Override
+        public void finish() {
+            flush();
+            try {
+                long rows = copyIn.endCopy();
+                finished = true;
+                log.debug("Copied {} rows into resource_import_staging", rows);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not complete the COPY into the staging table", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!finished && copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException e) {
+                    log.warn("Could not cancel the COPY into the staging table: {}", e.getMessage());
+                }
+            }
+        }
+
+        /** Unquoted empty fields are NULL in CSV COPY; quoted ones are empty strings */
+        private StringBuilder appendCsv(String value) {
+            if (value == null) {
+                return buffer;
+            }
+            return buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not stream rows into the staging table", e);
+            }
+        }
+    }
+
+    /** Fallback for databases without COPY */
+    private static class BatchStagingWriter implements StagingWriter {
+
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        BatchStagingWriter(PreparedStatement statement, int batchSize) {
+            this.statement = statement;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void write(StagedRow row) {
+            try {
+                statement.setInt(1, row.rowNo());
+                statement.setString(2, row.name());
+                statement.setString(3, row.location());
+                statement.setObject(4, row.capacity(), Types.INTEGER);
+                statement.setString(5, row.description());
+                statement.setObject(6, row.isActive(), Types.BOOLEAN);
+                statement.setString(7, row.error());
+                statement.addBatch();
+                if (++pending >= batchSize) {
+                    executeBatch();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not insert rows into the staging table", e);
+            }
+        }
+
+        @Override
+        public void finish() {
+            executeBatch();
+        }
+
+        @Override
+        public void close() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.warn("Could not close the staging statement: {}", e.getMessage());
+            }
+        }
+
+        private void executeBatch() {
+            if (pending == 0) {
+                return;
+            }
+            try {
+                statement.executeBatch();
+                pending = 0;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not insert rows into the staging table", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.booking.repository;
+
+import com.booking.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdLookup {
+
+    /**
+     * Look a user up by (lower-case) email through the natural-id cache; a hit skips the database entirely
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,30 @@
+package com.booking.repository;
+
+import com.booking.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * A derived {@code findByEmail} query always goes to the database; the natural-id API resolves the email to
+ * an id from the {@code users-natural-id} region and the user from the {@code users} region.
+ * <p>
+ * Unlike derived queries, a custom fragment gets no transaction from Spring Data; without one the shared
+ * EntityManager closes its session before the unwrapped Session is used.
+ */
+class UserNaturalIdLookupImpl implements UserNaturalIdLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
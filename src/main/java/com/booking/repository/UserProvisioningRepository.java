@@ -0,0 +1,67 @@
+package com.booking.repository;
+
+import com.booking.entity.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based reads and batched inserts for bulk user provisioning; bypasses JPA so thousands of accounts
+ * do not go through the persistence context one entity at a time.
+ */
+@Repository
+public class UserProvisioningRepository {
+
+    /** Also skips an email registered concurrently, after the existence check */
+    private static final String INSERT = """
+            INSERT INTO users (id, email, password_hash, full_name, role, is_active, token_version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)
+            ON CONFLICT (email) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserProvisioningRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The given (lower-case) emails that already belong to a user, in one query
+     */
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE email IN (" + placeholders + ")", String.class, emails.toArray()));
+    }
+
+    /**
+     * Insert the users in one JDBC batch; returns, per user, whether a row was inserted
+     */
+    public boolean[] insertAll(List<NewUser> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = users.stream()
+                .map(u -> new Object[]{u.id(), u.email(), u.passwordHash(), u.fullName(), u.role().name(),
+                        u.isActive(), now, now})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(INSERT, args);
+        boolean[] inserted = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for a batched statement that did insert
+            inserted[i] = counts[i] != 0;
+        }
+        return inserted;
+    }
+
+    public record NewUser(UUID id, String email, String passwordHash, String fullName, Role role, boolean isActive) {
+    }
+}
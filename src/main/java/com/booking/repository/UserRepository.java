@@ -2,15 +2,20 @@ package com.booking.repository;
 
 import com.booking.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-    
-    Optional<User> findByEmail(String email);
-    
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdLookup {
+
     boolean existsByEmail(String email);
+
+    /**
+     * Users whose tokens have been revoked at least once; everyone else is implicitly at version 0.
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<UserTokenVersion> findRevokedTokenVersions();
 }
@@ -0,0 +1,13 @@
+package com.booking.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a user's current token version, used to refresh the revocation map in bulk.
+ */
+public interface UserTokenVersion {
+
+    UUID getId();
+
+    Integer getTokenVersion();
+}
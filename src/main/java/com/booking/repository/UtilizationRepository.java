@@ -0,0 +1,139 @@
+package com.booking.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily utilization rollups ({@code resource_utilization_daily}). Reports read only this table and
+ * {@code resources}; {@code bookings} is scanned only when rebuilding a range of days.
+ */
+@Repository
+public class UtilizationRepository {
+
+    private static final String ADD = """
+            UPDATE resource_utilization_daily
+            SET booked_minutes = booked_minutes + ?, booking_count = booking_count + ?
+            WHERE resource_id = ? AND usage_date = ?""";
+
+    private static final String INSERT = """
+            INSERT INTO resource_utilization_daily (resource_id, usage_date, booked_minutes, booking_count)
+            VALUES (?, ?, ?, ?)""";
+
+    private static final String DELETE_RANGE = """
+            DELETE FROM resource_utilization_daily WHERE usage_date >= ? AND usage_date < ?""";
+
+    /** Minutes of each non-canceled booking that fall on each day of [from, to), PostgreSQL only */
+    private static final String REBUILD_RANGE = """
+            INSERT INTO resource_utilization_daily (resource_id, usage_date, booked_minutes, booking_count)
+            SELECT b.resource_id, d.day::DATE,
+                   SUM(FLOOR(EXTRACT(EPOCH FROM LEAST(b.end_at, d.day + INTERVAL '1 day') - GREATEST(b.start_at, d.day)) / 60)),
+                   COUNT(*)
+            FROM booking_history b
+            CROSS JOIN LATERAL generate_series(date_trunc('day', b.start_at), b.end_at - INTERVAL '1 microsecond',
+                                               INTERVAL '1 day') AS d(day)
+            WHERE b.status <> 'CANCELED'
+              AND b.start_at < ? AND b.end_at > ? AND b.start_at > ?
+              AND d.day >= ? AND d.day < ?
+            GROUP BY b.resource_id, d.day""";
+
+    private static final String BY_RESOURCE = """
+            SELECT r.id AS group_key, r.name AS label, COUNT(DISTINCT r.id) AS resources,
+                   COALESCE(SUM(u.booked_minutes), 0) AS booked_minutes,
+                   COALESCE(SUM(u.booking_count), 0) AS booking_count
+            FROM resources r
+            LEFT JOIN resource_utilization_daily u ON u.resource_id = r.id AND u.usage_date >= ? AND u.usage_date < ?
+            WHERE r.is_active = TRUE AND (CAST(? AS VARCHAR) IS NULL OR r.location = ?)
+            GROUP BY r.id, r.name
+            ORDER BY r.name, r.id""";
+
+    private static final String BY_LOCATION = """
+            SELECT r.location AS group_key, r.location AS label, COUNT(DISTINCT r.id) AS resources,
+                   COALESCE(SUM(u.booked_minutes), 0) AS booked_minutes,
+                   COALESCE(SUM(u.booking_count), 0) AS booking_count
+            FROM resources r
+            LEFT JOIN resource_utilization_daily u ON u.resource_id = r.id AND u.usage_date >= ? AND u.usage_date < ?
+            WHERE r.is_active = TRUE AND (CAST(? AS VARCHAR) IS NULL OR r.location = ?)
+            GROUP BY r.location
+            ORDER BY r.location""";
+
+    private static final String BY_DAY = """
+            SELECT u.usage_date AS group_key, COALESCE(SUM(u.booked_minutes), 0) AS booked_minutes,
+                   COALESCE(SUM(u.booking_count), 0) AS booking_count
+            FROM resource_utilization_daily u
+            JOIN resources r ON r.id = u.resource_id
+            WHERE u.usage_date >= ? AND u.usage_date < ? AND r.is_active = TRUE AND (CAST(? AS VARCHAR) IS NULL OR r.location = ?)
+            GROUP BY u.usage_date
+            ORDER BY u.usage_date""";
+
+    private static final String ACTIVE_RESOURCES = """
+            SELECT COUNT(*) FROM resources
+            WHERE is_active = TRUE AND (CAST(? AS VARCHAR) IS NULL OR location = ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UtilizationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add (or with negative values, remove) booked minutes for one resource and day.
+     * Throws {@link DuplicateKeyException} if a concurrent caller created the row first; retrying then updates it.
+     */
+    public void add(Long resourceId, LocalDate day, int minutes, int bookings) {
+        Date sqlDay = Date.valueOf(day);
+        if (jdbcTemplate.update(ADD, minutes, bookings, resourceId, sqlDay) == 0) {
+            jdbcTemplate.update(INSERT, resourceId, sqlDay, minutes, bookings);
+        }
+    }
+
+    /**
+     * Recompute the rollups of [from, to) from the bookings. {@code maxBookingDays} bounds how far
+     * before {@code from} a booking reaching into the range can start.
+     */
+    public int rebuild(LocalDate from, LocalDate to, int maxBookingDays) {
+        Date sqlFrom = Date.valueOf(from);
+        Date sqlTo = Date.valueOf(to);
+        jdbcTemplate.update(DELETE_RANGE, sqlFrom, sqlTo);
+        return jdbcTemplate.update(REBUILD_RANGE, sqlTo, sqlFrom, Date.valueOf(from.minusDays(maxBookingDays)),
+                sqlFrom, sqlTo);
+    }
+
+    public List<Totals> totalsByResource(LocalDate from, LocalDate to, String location) {
+        return totals(BY_RESOURCE, from, to, location);
+    }
+
+    public List<Totals> totalsByLocation(LocalDate from, LocalDate to, String location) {
+        return totals(BY_LOCATION, from, to, location);
+    }
+
+    /** Per-day totals over all active resources; days without bookings are absent */
+    public List<Totals> totalsByDay(LocalDate from, LocalDate to, String location) {
+        return jdbcTemplate.query(BY_DAY, (rs, rowNum) -> new Totals(
+                        rs.getDate("group_key").toLocalDate().toString(), null, 0,
+                        rs.getLong("booked_minutes"), rs.getLong("booking_count")),
+                Date.valueOf(from), Date.valueOf(to), location, location);
+    }
+
+    public int countActiveResources(String location) {
+        Integer count = jdbcTemplate.queryForObject(ACTIVE_RESOURCES, Integer.class, location, location);
+        return count != null ? count : 0;
+    }
+
+    private List<Totals> totals(String sql, LocalDate from, LocalDate to, String location) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Totals(
+                        rs.getString("group_key"), rs.getString("label"), rs.getInt("resources"),
+                        rs.getLong("booked_minutes"), rs.getLong("booking_count")),
+                Date.valueOf(from), Date.valueOf(to), location, location);
+    }
+
+    /**
+     * Summed rollups of one group: a resource ID, a location or an ISO day
+     */
+    public record Totals(String key, String label, int resources, long bookedMinutes, long bookingCount) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.WaitlistEntryResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Waitlist entries, one row per queued request.
+ * <p>
+ * Finding the waiters a freed slot can serve is an interval lookup on {@code (resource_id, start_at, end_at)}: an
+ * overlapping entry starts before the slot ends and, as no booking is longer than the maximum duration, no earlier
+ * than that before the slot starts, so the scan is one bounded index range, oldest entries first.
+ */
+@Repository
+public class WaitlistRepository {
+
+    private static final String INSERT = """
+            INSERT INTO waitlist_entries (resource_id, user_id, start_at, end_at, description, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    /** Entries overlapping [slotStart, slotEnd) that have not started */
+    private static final String OVERLAPPING = """
+            SELECT id, user_id, start_at, end_at, description FROM waitlist_entries
+            WHERE resource_id = ? AND start_at > ? AND start_at < ? AND end_at > ? AND start_at > ?
+            ORDER BY created_at, id
+            LIMIT ?
+            FOR UPDATE""";
+
+    /** Entries of a user that have not started; started ones can no longer be promoted and wait for the purge */
+    private static final String FIND_BY_USER = """
+            SELECT w.id, w.resource_id, r.name AS resource_name, w.start_at, w.end_at, w.description, w.created_at,
+                   (SELECT COUNT(*) FROM waitlist_entries o
+                    WHERE o.resource_id = w.resource_id
+                      AND o.start_at > w.start_at - CAST(? AS INTEGER) * INTERVAL '1' HOUR
+                      AND o.start_at < w.end_at AND o.end_at > w.start_at AND o.start_at > ?
+                      AND (o.created_at < w.created_at OR (o.created_at = w.created_at AND o.id < w.id))) AS ahead
+            FROM waitlist_entries w
+            JOIN resources r ON r.id = w.resource_id
+            WHERE w.user_id = ? AND w.start_at > ?
+            ORDER BY w.start_at""";
+
+    private static final String COUNT_BY_USER = """
+            SELECT COUNT(*) FROM waitlist_entries WHERE user_id = ? AND start_at > ?""";
+
+    private static final String PURGE_EXPIRED = "DELETE FROM waitlist_entries WHERE start_at <= ?";
+
+    private static final String DELETE_OWN = "DELETE FROM waitlist_entries WHERE id = ? AND (user_id = ? OR ?)";
+
+    private static final String DELETE = "DELETE FROM waitlist_entries WHERE id = ?";
+
+    private static final String EXISTS = "SELECT COUNT(*) FROM waitlist_entries WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String overlappingSql;
+
+    public WaitlistRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Concurrent cancels on the same resource each take different waiters instead of queueing behind one
+        this.overlappingSql = DatabaseProduct.isPostgres(dataSource)
+                ? OVERLAPPING + " SKIP LOCKED"
+                : OVERLAPPING;
+    }
+
+    /**
+     * Queue a request; a second identical request by the same user fails with a DuplicateKeyException
+     */
+    public Long insert(Long resourceId, UUID userId, LocalDateTime startAt, LocalDateTime endAt, String description,
+                       LocalDateTime now) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"});
+            statement.setLong(1, resourceId);
+            statement.setObject(2, userId);
+            statement.setTimestamp(3, Timestamp.valueOf(startAt));
+            statement.setTimestamp(4, Timestamp.valueOf(endAt));
+            statement.setString(5, description);
+            statement.setTimestamp(6, Timestamp.valueOf(now));
+            return statement;
+        }, keyHolder);
+        Number id = keyHolder.getKey();
+        return id != null ? id.longValue() : null;
+    }
+
+    /**
+     * Lock up to {@code limit} entries of the resource overlapping [slotStart, slotEnd) that start after
+     * {@code now}, oldest first. {@code earliestStart} is slotStart minus the longest allowed booking.
+     */
+    public List<Waiter> lockOverlapping(Long resourceId, LocalDateTime slotStart, LocalDateTime slotEnd,
+                                        LocalDateTime earliestStart, LocalDateTime now, int limit) {
+        return jdbcTemplate.query(overlappingSql,
+                (rs, rowNum) -> new Waiter(
+                        rs.getLong("id"),
+                        rs.getObject("user_id", UUID.class),
+                        rs.getObject("start_at", LocalDateTime.class),
+                        rs.getObject("end_at", LocalDateTime.class),
+                        rs.getString("description")),
+                resourceId, earliestStart, slotEnd, slotStart, now, limit);
+    }
+
+    /**
+     * Entries of {@code userId} starting after {@code now}, with the number of earlier overlapping entries ahead
+     */
+    public List<WaitlistEntryResponse> findByUser(UUID userId, int maxDurationHours, LocalDateTime now) {
+        return jdbcTemplate.query(FIND_BY_USER,
+                (rs, rowNum) -> WaitlistEntryResponse.builder()
+                        .id(rs.getLong("id"))
+                        .resourceId(rs.getLong("resource_id"))
+                        .resourceName(rs.getString("resource_name"))
+                        .startAt(rs.getObject("start_at", LocalDateTime.class))
+                        .endAt(rs.getObject("end_at", LocalDateTime.class))
+                        .description(rs.getString("description"))
+                        .ahead(rs.getLong("ahead"))
+                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                        .build(),
+                maxDurationHours, now, userId, now);
+    }
+
+    public int countByUser(UUID userId, LocalDateTime now) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_BY_USER, Integer.class, userId, now);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Delete the entries that started by {@code now}; returns how many
+     */
+    public int purgeExpired(LocalDateTime now) {
+        return jdbcTemplate.update(PURGE_EXPIRED, now);
+    }
+
+    /**
+     * Delete an entry of {@code userId} (any user's when {@code admin}); false if nothing matched
+     */
+    public boolean delete(Long id, UUID userId, boolean admin) {
+        return jdbcTemplate.update(DELETE_OWN, id, userId, admin) > 0;
+    }
+
+    public void delete(Long id) {
+        jdbcTemplate.update(DELETE, id);
+    }
+
+    public boolean exists(Long id) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS, Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    public record Waiter(Long id, UUID userId, LocalDateTime startAt, LocalDateTime endAt, String description) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.booking.security;
+
+import com.booking.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on booking writes, one bucket per user and one per resource.
+ * Buckets live in bounded maps and are dropped once idle long enough to have refilled completely,
+ * which does not change limiting behavior.
+ */
+@Component
+public class BookingRateLimiter {
+
+    private final boolean enabled;
+    private final BucketSet userBuckets;
+    private final BucketSet resourceBuckets;
+    private final Counter userRejections;
+    private final Counter resourceRejections;
+
+    public BookingRateLimiter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.user.capacity:20}") long userCapacity,
+            @Value("${app.rate-limit.user.refill-per-minute:60}") long userRefillPerMinute,
+            @Value("${app.rate-limit.resource.capacity:30}") long resourceCapacity,
+            @Value("${app.rate-limit.resource.refill-per-minute:120}") long resourceRefillPerMinute,
+            @Value("${app.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userBuckets = new BucketSet(userCapacity, userRefillPerMinute, maxTrackedKeys);
+        this.resourceBuckets = new BucketSet(resourceCapacity, resourceRefillPerMinute, maxTrackedKeys);
+        this.userRejections = Counter.builder("booking.rate_limit.rejections")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        this.resourceRejections = Counter.builder("booking.rate_limit.rejections")
+                .tag("scope", "resource")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 if the user may proceed, otherwise the nanoseconds until the next token
+     */
+    public long tryAcquireForUser(UUID userId) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = userBuckets.tryAcquire(userId);
+        if (waitNanos > 0) {
+            userRejections.increment();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * @throws TooManyRequestsException if the resource has exceeded its write rate
+     */
+    public void checkResource(Long resourceId) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = resourceBuckets.tryAcquire(resourceId);
+        if (waitNanos > 0) {
+            resourceRejections.increment();
+            throw new TooManyRequestsException(
+                    "Too many booking requests for resource " + resourceId + ", please retry shortly",
+                    toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static class BucketSet {
+
+        private final long capacity;
+        private final long refillIntervalNanos;
+        private final Cache<Object, TokenBucket> buckets;
+
+        BucketSet(long capacity, long refillPerMinute, long maxKeys) {
+            this.capacity = capacity;
+            this.refillIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(capacity * refillIntervalNanos))
+                    .build();
+        }
+
+        long tryAcquire(Object key) {
+            long now = System.nanoTime();
+            return buckets.get(key, k -> new TokenBucket(capacity, refillIntervalNanos, now)).tryAcquire(now);
+        }
+    }
+}
@@ -1,26 +1,69 @@
 package com.booking.security;
 
+import com.booking.config.ReadYourWritesTracker;
 import com.booking.entity.User;
 import com.booking.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final ReadYourWritesTracker readYourWrites;
 
+    /**
+     * Load the user for a login. Read on behalf of the email, so a login right after registration
+     * is not served by a replica that has not seen the new account yet.
+     */
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = readYourWrites.readAs(email, () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        
+
+        return UserPrincipal.create(user);
+    }
+
+    /**
+     * Store a re-encoded password hash after a successful login.
+     * Called by {@code AuthService#login} when the stored hash uses a lower BCrypt cost than configured.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPasswordHash) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+
+        user.setPasswordHash(newPasswordHash);
+        userRepository.save(user);
+        principalCache.evict(user.getId());
+        readYourWrites.recordWrite(user.getEmail());
+
+        return UserPrincipal.create(user);
+    }
+
+    /**
+     * Load the principal for an authenticated request.
+     * Served from {@link UserPrincipalCache}; only a miss reaches the database.
+     */
+    public UserPrincipal loadUserById(UUID id) throws UsernameNotFoundException {
+        return principalCache.get(id, this::loadFromDatabase);
+    }
+
+    private UserPrincipal loadFromDatabase(UUID id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+
         return UserPrincipal.create(user);
     }
 }
@@ -1,5 +1,9 @@
 package com.booking.security;
 
+import com.booking.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -9,69 +13,153 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_TOKEN_VERSION = "token_version";
+
     private final SecretKey key;
     private final long jwtExpirationMs;
+    private final boolean selfContained;
+    private final JwtParser parser;
+
+    /**
+     * Verified claims keyed by the SHA-256 of the compact token.
+     * Entries expire together with the token, so a cached hit is never staler than a fresh parse.
+     * Null when the cache is disabled (max-size 0).
+     */
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String jwtSecret,
-            @Value("${app.jwt.expiration-ms}") long jwtExpirationMs) {
+            @Value("${app.jwt.expiration-ms}") long jwtExpirationMs,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.self-contained:false}") boolean selfContained) {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         this.jwtExpirationMs = jwtExpirationMs;
+        this.selfContained = selfContained;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = cacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new ClaimsExpiry())
+                        .build()
+                : null;
     }
 
     public String generateToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        if (selfContained) {
+            return generateSelfContainedToken(userPrincipal);
+        }
         return generateToken(userPrincipal.getId(), userPrincipal.getEmail());
     }
 
     public String generateToken(UUID userId, String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        return tokenBuilder(userId, email).compact();
+    }
 
-        return Jwts.builder()
-                .subject(userId.toString())
-                .claim("email", email)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
+    /**
+     * Token that also carries name, role, active flag and token version,
+     * so the filter can authenticate the request without loading the user.
+     */
+    public String generateSelfContainedToken(UserPrincipal principal) {
+        return tokenBuilder(principal.getId(), principal.getEmail())
+                .claim(CLAIM_NAME, principal.getFullName())
+                .claim(CLAIM_ROLE, principal.getRole().name())
+                .claim(CLAIM_ACTIVE, principal.isActive())
+                .claim(CLAIM_TOKEN_VERSION, principal.getTokenVersion())
                 .compact();
     }
 
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Whether the claims may be trusted as a self-contained token (see {@link #generateSelfContainedToken}).
+     * Only while the mode is on: once it is turned off, tokens issued before go through the user lookup again,
+     * so they cannot outlive a revocation.
+     */
+    public boolean isSelfContained(Claims claims) {
+        return selfContained && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
 
-        return UUID.fromString(claims.getSubject());
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        return UserPrincipal.fromClaims(
+                UUID.fromString(claims.getSubject()),
+                claims.get(CLAIM_EMAIL, String.class),
+                claims.get(CLAIM_NAME, String.class),
+                Role.valueOf(claims.get(CLAIM_ROLE, String.class)),
+                Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class)),
+                claims.get(CLAIM_TOKEN_VERSION, Integer.class)
+        );
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verify the token once and return its claims.
+     * Repeat tokens are served from the verified-token cache without touching the signature again.
+     * Returns empty for any invalid, expired or malformed token.
+     */
+    public Optional<Claims> resolveClaims(String token) {
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
 
-        return claims.get("email", String.class);
+        ByteBuffer cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = verify(token);
+        claims.ifPresent(c -> verifiedTokens.put(cacheKey, c));
+        return claims;
+    }
+
+    public UUID getUserIdFromToken(String token) {
+        return UUID.fromString(parser.parseSignedClaims(token).getPayload().getSubject());
+    }
+
+    public String getEmailFromToken(String token) {
+        return parser.parseSignedClaims(token).getPayload().get(CLAIM_EMAIL, String.class);
     }
 
     public boolean validateToken(String token) {
+        return resolveClaims(token).isPresent();
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    private JwtBuilder tokenBuilder(UUID userId, String email) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim(CLAIM_EMAIL, email)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(key);
+    }
+
+    private Optional<Claims> verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -83,10 +171,41 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
     }
 
-    public long getExpirationMs() {
-        return jwtExpirationMs;
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cache entry at the token's own {@code exp} claim.
+     */
+    private static class ClaimsExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.booking.security;
+
+import com.booking.dto.common.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user rate limit on booking writes ({@code POST /api/v1/bookings} and {@code POST /api/v1/bookings/{id}/cancel}).
+ * Runs after {@link JwtAuthenticationFilter}; the per-resource limit is applied in the service,
+ * where the resource is known.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BOOKINGS_PATH = "/api/v1/bookings";
+    private static final String CANCEL_SUFFIX = "/cancel";
+
+    private final BookingRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(BookingRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !(path.equals(BOOKINGS_PATH)
+                || (path.startsWith(BOOKINGS_PATH + "/") && path.endsWith(CANCEL_SUFFIX)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            long waitNanos = rateLimiter.tryAcquireForUser(principal.getId());
+            if (waitNanos > 0) {
+                reject(request, response, BookingRateLimiter.toRetryAfterSeconds(waitNanos));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("TOO_MANY_REQUESTS")
+                .message("Too many booking requests, please retry in " + retryAfterSeconds + " seconds")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(errorResponse));
+    }
+}
@@ -0,0 +1,50 @@
+package com.booking.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket with lazy refill.
+ * <p>
+ * The whole bucket state is one atomic timestamp: the time at which the bucket would be full again
+ * ("theoretical arrival time", as in GCRA). Taking a token pushes it forward by one refill interval;
+ * refill is implicit in the passage of time, so no background task or second field is needed and
+ * a single CAS keeps tokens and refill consistent.
+ */
+class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity            maximum burst size
+     * @param refillIntervalNanos time to regain one token
+     */
+    TokenBucket(long capacity, long refillIntervalNanos, long nowNanos) {
+        if (capacity < 1 || refillIntervalNanos < 1) {
+            throw new IllegalArgumentException("capacity and refill interval must be positive");
+        }
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstToleranceNanos = (capacity - 1) * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long waitNanos = base - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, base + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.booking.security;
+
+import com.booking.repository.UserRepository;
+import com.booking.repository.UserTokenVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimum valid token version per user, used to revoke self-contained access tokens.
+ * Only users that were ever revoked are held; everyone else is implicitly at version 0.
+ * The map is refreshed from the database in bulk, and local revocations apply immediately after commit.
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.jwt.self-contained:false}")
+    private boolean selfContained;
+
+    private volatile Map<UUID, Integer> minVersions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        return tokenVersion >= minVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Reject tokens below {@code minVersion} for this user once the surrounding transaction commits.
+     */
+    public void revoke(UUID userId, int minVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    raise(userId, minVersion);
+                }
+            });
+        } else {
+            raise(userId, minVersion);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}",
+               initialDelayString = "${app.jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        if (!selfContained) {
+            return;
+        }
+
+        try {
+            List<UserTokenVersion> versions = userRepository.findRevokedTokenVersions();
+            Map<UUID, Integer> snapshot = new ConcurrentHashMap<>(Math.max(16, versions.size() * 2));
+            for (UserTokenVersion version : versions) {
+                snapshot.put(version.getId(), version.getTokenVersion());
+            }
+            // Keep local revocations that committed after the snapshot was read
+            new HashMap<>(minVersions).forEach((userId, min) -> snapshot.merge(userId, min, Math::max));
+            minVersions = snapshot;
+            log.debug("Refreshed token versions for {} revoked users", snapshot.size());
+        } catch (RuntimeException ex) {
+            log.error("Could not refresh token versions, keeping previous snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private void raise(UUID userId, int minVersion) {
+        minVersions.merge(userId, minVersion, Math::max);
+    }
+}
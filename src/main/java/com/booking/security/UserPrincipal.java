@@ -21,6 +21,7 @@ public class UserPrincipal implements UserDetails {
     private String fullName;
     private Collection<? extends GrantedAuthority> authorities;
     private boolean isActive;
+    private int tokenVersion;
 
     public static UserPrincipal create(User user) {
         List<GrantedAuthority> authorities = List.of(
@@ -33,7 +34,25 @@ public class UserPrincipal implements UserDetails {
                 user.getPasswordHash(),
                 user.getFullName(),
                 authorities,
-                user.getIsActive()
+                user.getIsActive(),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0
+        );
+    }
+
+    /**
+     * Build a principal from the claims of a self-contained access token, without a user lookup.
+     * The password is not carried in tokens and is left null.
+     */
+    public static UserPrincipal fromClaims(UUID id, String email, String fullName,
+                                           com.booking.entity.Role role, boolean isActive, int tokenVersion) {
+        return new UserPrincipal(
+                id,
+                email,
+                null,
+                fullName,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name())),
+                isActive,
+                tokenVersion
         );
     }
 
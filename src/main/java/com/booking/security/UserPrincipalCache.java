@@ -0,0 +1,62 @@
+package com.booking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of {@link UserPrincipal} keyed by user ID.
+ * Lets the JWT filter authenticate requests without a database round trip.
+ * Hit/miss statistics are exported as the {@code cache.*} meters with {@code cache=userPrincipals}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<UUID, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipals");
+    }
+
+    public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Evict a user's principal now and again once the surrounding transaction completes,
+     * so a request racing the update cannot re-cache the old state.
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
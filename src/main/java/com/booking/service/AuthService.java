@@ -1,5 +1,6 @@
 package com.booking.service;
 
+import com.booking.config.ReadYourWritesTracker;
 import com.booking.dto.auth.AuthResponse;
 import com.booking.dto.auth.LoginRequest;
 import com.booking.dto.auth.RegisterRequest;
@@ -8,16 +9,21 @@ import com.booking.entity.Role;
 import com.booking.entity.User;
 import com.booking.exception.DuplicateResourceException;
 import com.booking.repository.UserRepository;
+import com.booking.security.CustomUserDetailsService;
 import com.booking.security.JwtTokenProvider;
+import com.booking.security.PasswordHashingExecutor;
 import com.booking.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,36 +31,73 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final CustomUserDetailsService userDetailsService;
     private final JwtTokenProvider tokenProvider;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final ReadYourWritesTracker readYourWrites;
 
-    @Transactional
+    /** Checked against when the email is unknown, so a miss costs as much as a wrong password */
+    private volatile String unknownUserHash;
+
+    /**
+     * Register a new user. The password is hashed on the hashing pool before any transaction is opened,
+     * so no database connection is held while BCrypt runs.
+     */
     public UserResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateResourceException("Email already registered: " + request.getEmail());
         }
 
+        String passwordHash = hashingExecutor.execute(() -> passwordEncoder.encode(request.getPassword()));
+
         User user = User.builder()
                 .email(request.getEmail().toLowerCase())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .fullName(request.getFullName())
                 .role(Role.USER)
                 .isActive(true)
                 .build();
 
-        User savedUser = userRepository.save(user);
-        return mapToUserResponse(savedUser);
+        try {
+            User savedUser = userRepository.save(user);
+            // The first login reads by email and must not miss the new account on a lagging replica
+            readYourWrites.recordWrite(savedUser.getEmail());
+            return mapToUserResponse(savedUser);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateResourceException("Email already registered: " + request.getEmail());
+        }
     }
 
+    /**
+     * Authenticate the user. Only the BCrypt work runs on the hashing pool; the user lookup and the
+     * upgrade of an outdated hash (see {@code CustomUserDetailsService#updatePassword}) stay on the
+     * request thread, so pool threads never wait on the database.
+     */
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail().toLowerCase(),
-                        request.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        String email = request.getEmail().toLowerCase();
+        String password = request.getPassword();
+
+        UserDetails user = findForLogin(email);
+        if (user == null) {
+            String hash = unknownUserHash();
+            hashingExecutor.execute(() -> passwordEncoder.matches(password, hash));
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+
+        String storedHash = user.getPassword();
+        if (!hashingExecutor.execute(() -> passwordEncoder.matches(password, storedHash))) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            String upgradedHash = hashingExecutor.execute(() -> passwordEncoder.encode(password));
+            user = userDetailsService.updatePassword(user, upgradedHash);
+        }
+
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities());
         String token = tokenProvider.generateToken(authentication);
 
         return AuthResponse.builder()
@@ -76,6 +119,23 @@ public class AuthService {
         return mapToUserResponse(user);
     }
 
+    private UserDetails findForLogin(String email) {
+        try {
+            return userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException ex) {
+            return null;
+        }
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = hashingExecutor.execute(() -> passwordEncoder.encode("unknown-user-password"));
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -0,0 +1,190 @@
+package com.booking.service;
+
+import com.booking.repository.DatabaseProduct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Moves bookings that ended more than {@code app.booking.archive.horizon-days} ago into {@code bookings_archive}.
+ * <p>
+ * On PostgreSQL, where {@code bookings} is partitioned by month (V6 migration), a monthly partition is archived
+ * as a whole once every booking in it has ended before the horizon: it is detached, copied into the archive and
+ * dropped in one transaction, so the live table loses the month without deleting row by row or leaving dead
+ * tuples behind. Bookings of later months stay live until their month qualifies; history queries cover them
+ * either way. Detaching needs a brief exclusive lock on {@code bookings}; if it cannot get one within
+ * {@code lock-timeout-ms} the run stops and the next one retries.
+ * <p>
+ * Rows outside the monthly partitions ({@code bookings_default}, and the whole unpartitioned table on H2) are
+ * moved in batches of at most {@code batch-size} rows, each one set-based statement in its own transaction, so
+ * locks and WAL per transaction stay bounded and a failed run keeps the batches it already committed. Rows
+ * locked by a concurrent writer are skipped and picked up by a later run.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private static final String ARCHIVE_BATCH = """
+            WITH moved AS (
+                DELETE FROM %1$s
+                WHERE (id, start_at) IN (
+                    SELECT id, start_at FROM %1$s
+                    WHERE start_at < ? AND end_at < ?
+                    ORDER BY start_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at)
+            INSERT INTO bookings_archive (id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at)
+            SELECT id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at FROM moved
+            """;
+
+    /** Monthly partitions as created by create_booking_partitions, oldest first */
+    private static final String MONTHLY_PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'bookings'::regclass AND c.relname ~ '^bookings_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    private static final String ARCHIVE_PARTITION = """
+            INSERT INTO bookings_archive (id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at)
+            SELECT id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at FROM %s
+            """;
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'bookings_'yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final boolean partitioned;
+    private final String archiveBatchSql;
+
+    @Value("${app.booking.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.archive.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${app.booking.archive.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.booking.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.booking.archive.lock-timeout-ms:2000}")
+    private long lockTimeoutMs;
+
+    @Value("${app.booking.max-duration-hours:8}")
+    private int maxDurationHours;
+
+    public BookingArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           DataSource dataSource, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitioned = DatabaseProduct.isPostgres(dataSource);
+        this.archiveBatchSql = ARCHIVE_BATCH.formatted(partitioned ? "bookings_default" : "bookings");
+        this.archived = Counter.builder("booking.archived")
+                .description("Bookings moved to the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bookings ending before this point may be in the archive; history queries reaching back further include it.
+     */
+    public LocalDateTime cutoff() {
+        return LocalDateTime.now().minusDays(horizonDays);
+    }
+
+    /**
+     * Whether a listing starting at {@code dateFrom} can match archived bookings
+     */
+    public boolean reachesArchive(LocalDateTime dateFrom) {
+        return enabled && dateFrom != null && dateFrom.isBefore(cutoff());
+    }
+
+    @Scheduled(cron = "${app.booking.archive.cron:0 45 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = cutoff();
+        long total = 0;
+        try {
+            if (partitioned) {
+                total += archivePartitions(cutoff);
+            }
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = archiveBatch(cutoff);
+                total += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.error("Booking archival stopped after {} rows: {}", total, ex.getMessage());
+        }
+        if (total > 0) {
+            log.info("Archived {} bookings that ended before {}", total, cutoff);
+        }
+    }
+
+    /**
+     * Archive every monthly partition whose bookings all ended before {@code cutoff}: a booking ends at most
+     * {@code max-duration-hours} after it starts, and it starts before the end of its month.
+     */
+    private long archivePartitions(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(MONTHLY_PARTITIONS, String.class);
+        long total = 0;
+        for (String partition : partitions) {
+            LocalDateTime monthEnd = YearMonth.parse(partition, PARTITION_MONTH).plusMonths(1).atDay(1).atStartOfDay();
+            if (!monthEnd.plusHours(maxDurationHours).isBefore(cutoff)) {
+                break;
+            }
+            int moved = archivePartition(partition);
+            log.info("Archived partition {} with {} bookings", partition, moved);
+            total += moved;
+        }
+        return total;
+    }
+
+    /**
+     * Detach, copy and drop one partition in a single transaction; a failure leaves it attached and untouched.
+     * The name comes from the catalog and matches the monthly pattern, so it is safe to inline.
+     */
+    private int archivePartition(String partition) {
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + partition);
+            int copied = jdbcTemplate.update(ARCHIVE_PARTITION.formatted(partition));
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return copied;
+        });
+        int count = moved != null ? moved : 0;
+        archived.increment(count);
+        return count;
+    }
+
+    /**
+     * Move one batch in its own transaction. start_at < end_at, so the redundant bound on start_at
+     * only prunes partitions without changing which rows qualify.
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status ->
+                jdbcTemplate.update(archiveBatchSql, cutoff, cutoff, batchSize));
+        int count = moved != null ? moved : 0;
+        archived.increment(count);
+        return count;
+    }
+}
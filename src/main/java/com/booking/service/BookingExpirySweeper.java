@@ -0,0 +1,84 @@
+package com.booking.service;
+
+import com.booking.repository.BookingConfirmationRepository;
+import com.booking.repository.BookingConfirmationRepository.Unconfirmed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drives the {@link BookingExpiryWheel}: every tick it releases the bookings whose confirmation deadline passed,
+ * {@code batch-size} per set-based UPDATE, and every {@code load-interval} it loads the deadlines of the next
+ * {@code horizon-hours} from the database, reading only that slice of {@code start_at}.
+ * <p>
+ * Each load also releases, in one statement over the last {@code catch-up-hours}, anything the wheel could not have
+ * fired: deadlines missed while the application was down, or bookings tracked only by an instance that has since
+ * stopped.
+ */
+@Slf4j
+@Component
+public class BookingExpirySweeper {
+
+    private final BookingExpiryWheel wheel;
+    private final BookingConfirmationRepository confirmationRepository;
+    private final BookingService bookingService;
+
+    @Value("${app.booking.confirmation.horizon-hours:24}")
+    private int horizonHours;
+
+    @Value("${app.booking.confirmation.batch-size:500}")
+    private int batchSize;
+
+    public BookingExpirySweeper(BookingExpiryWheel wheel, BookingConfirmationRepository confirmationRepository,
+                                BookingService bookingService) {
+        this.wheel = wheel;
+        this.confirmationRepository = confirmationRepository;
+        this.bookingService = bookingService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.confirmation.tick-ms:1000}")
+    public void sweep() {
+        if (!wheel.isEnabled()) {
+            return;
+        }
+        List<Long> due = wheel.advance(LocalDateTime.now());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                bookingService.releaseUnconfirmed(batch);
+            } catch (DataAccessException e) {
+                // The next load's catch-up releases them
+                log.warn("Could not release {} unconfirmed bookings: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.confirmation.load-interval-ms:900000}")
+    public void load() {
+        if (!wheel.isEnabled()) {
+            return;
+        }
+        try {
+            bookingService.releaseOverdue();
+
+            BookingExpiryWheel.LoadWindow window = wheel.extendTo(LocalDateTime.now().plusHours(horizonHours));
+            if (!window.to().isAfter(window.from())) {
+                return;
+            }
+            List<Unconfirmed> unconfirmed = confirmationRepository.findUnconfirmed(
+                    wheel.startOf(window.from()), wheel.startOf(window.to()));
+            for (Unconfirmed booking : unconfirmed) {
+                wheel.schedule(booking.id(), wheel.deadline(booking.startAt()));
+            }
+            log.debug("Loaded {} confirmation deadlines up to {}", unconfirmed.size(), window.to());
+        } catch (DataAccessException e) {
+            // Deadlines of a window that failed to load are released by the catch-up
+            log.warn("Could not load confirmation deadlines: {}", e.getMessage());
+        }
+    }
+}
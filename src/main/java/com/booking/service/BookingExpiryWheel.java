@@ -0,0 +1,132 @@
+package com.booking.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Confirmation deadlines of unconfirmed bookings, held in a {@link HierarchicalTimingWheel} so that releasing them
+ * never scans the bookings table.
+ * <p>
+ * The wheel only holds deadlines before {@link #loadedUntil()}: {@link BookingExpirySweeper} loads the next window
+ * from the database ahead of time, and bookings created inside the loaded window are added here when they commit.
+ * Bookings are not removed when confirmed or canceled; the release UPDATE skips anything no longer unconfirmed.
+ */
+@Component
+public class BookingExpiryWheel {
+
+    /** 1 s ticks; four levels of 60 slots reach about 150 days */
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int LEVELS = 4;
+
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    /** Deadlines before this are in the wheel (or being loaded into it) */
+    private LocalDateTime loadedUntil;
+
+    @Value("${app.booking.confirmation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.confirmation.grace-minutes:15}")
+    private int graceMinutes;
+
+    public BookingExpiryWheel(MeterRegistry meterRegistry) {
+        LocalDateTime now = LocalDateTime.now();
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, LEVELS, toMillis(now));
+        this.loadedUntil = now;
+        Gauge.builder("booking.confirmation.pending", this, BookingExpiryWheel::size)
+                .description("Unconfirmed bookings waiting in the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * When a booking starting at {@code startAt} is released if still unconfirmed
+     */
+    public LocalDateTime deadline(LocalDateTime startAt) {
+        return startAt.plusMinutes(graceMinutes);
+    }
+
+    /**
+     * Start time of a booking whose deadline is {@code deadline}
+     */
+    public LocalDateTime startOf(LocalDateTime deadline) {
+        return deadline.minusMinutes(graceMinutes);
+    }
+
+    /**
+     * Track a new booking once its transaction commits, if its deadline falls into the loaded window
+     */
+    public void track(Long bookingId, LocalDateTime startAt) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(bookingId, deadline(startAt));
+                }
+            });
+        } else {
+            schedule(bookingId, deadline(startAt));
+        }
+    }
+
+    /**
+     * Extend the loaded window to {@code until}, capped at the wheel's reach, and return where the window ended
+     * before. Bookings committed from now on with deadlines up to the new end are tracked on commit; the caller
+     * loads the ones already in the database.
+     */
+    synchronized LoadWindow extendTo(LocalDateTime until) {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime reach = LocalDateTime.ofInstant(Instant.ofEpochMilli(wheel.horizon()),
+                ZoneId.systemDefault());
+        LocalDateTime to = until.isAfter(reach) ? reach : until;
+        if (to.isAfter(loadedUntil)) {
+            loadedUntil = to;
+        }
+        return new LoadWindow(from, loadedUntil);
+    }
+
+    synchronized void schedule(Long bookingId, LocalDateTime deadline) {
+        if (deadline.isBefore(loadedUntil)) {
+            wheel.schedule(bookingId, toMillis(deadline));
+        }
+    }
+
+    /**
+     * Bookings whose deadline has passed since the last call
+     */
+    synchronized List<Long> advance(LocalDateTime now) {
+        return wheel.advance(toMillis(now));
+    }
+
+    synchronized LocalDateTime loadedUntil() {
+        return loadedUntil;
+    }
+
+    private synchronized int size() {
+        return wheel.size();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** Deadlines in [from, to) */
+    record LoadWindow(LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.booking.service;
+
+import com.booking.exception.BookingConflictException;
+import com.booking.exception.BookingValidationException;
+import com.booking.exception.ForbiddenException;
+import com.booking.exception.ResourceNotFoundException;
+import com.booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for booking operations.
+ * Tags are limited to fixed vocabularies (operation, outcome, reason); never tag with resource, user or booking IDs.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    public static final String CREATE = "create";
+    public static final String CANCEL = "cancel";
+    public static final String LIST = "list";
+    public static final String BULK_CANCEL = "bulk_cancel";
+    public static final String CONFIRM = "confirm";
+    public static final String CHECK_IN = "check_in";
+    public static final String RELEASE = "release";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Run an operation and record its duration, tagged with an outcome derived from the exception it throws
+     */
+    public <T> T time(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            Timer.builder("booking.operations")
+                    .description("Booking service operations")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Count a request rejected by a business rule
+     */
+    public void rejected(String operation, String reason) {
+        meterRegistry.counter("booking.rejections", "operation", operation, "reason", reason).increment();
+    }
+
+    /**
+     * Count a booking created for a waitlist entry when a slot was freed
+     */
+    public void waitlistPromoted() {
+        meterRegistry.counter("booking.waitlist.promotions").increment();
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof BookingConflictException) {
+            return "conflict";
+        }
+        if (e instanceof BookingValidationException) {
+            return "validation";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof ForbiddenException) {
+            return "forbidden";
+        }
+        if (e instanceof TooManyRequestsException) {
+            return "rate_limited";
+        }
+        return "error";
+    }
+}
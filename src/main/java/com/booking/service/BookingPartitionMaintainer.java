@@ -0,0 +1,49 @@
+package com.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly {@code bookings} partitions in place for the current month and the next
+ * {@code app.booking.partitions.months-ahead} months, so new bookings do not pile up in the default partition.
+ * Runs at startup and once a day; the work is done by {@code create_booking_partitions} (V6, locking as of V12).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.booking.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingPartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.booking.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    public BookingPartitionMaintainer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.booking.partitions.cron:0 15 3 * * *}")
+    public void createUpcomingPartitions() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            Integer created = jdbcTemplate.queryForObject("SELECT create_booking_partitions(?, ?)",
+                    Integer.class, currentMonth, currentMonth.plusMonths(monthsAhead));
+            if (created != null && created > 0) {
+                log.info("Created {} booking partitions up to {}", created, currentMonth.plusMonths(monthsAhead));
+            }
+        } catch (DataAccessException ex) {
+            log.error("Could not create booking partitions, new bookings go to bookings_default: {}",
+                    ex.getMessage());
+        }
+    }
+}
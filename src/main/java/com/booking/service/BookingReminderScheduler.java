@@ -0,0 +1,192 @@
+package com.booking.service;
+
+import com.booking.event.BookingEvent;
+import com.booking.event.BookingEventPublisher;
+import com.booking.repository.BookingReminderRepository;
+import com.booking.repository.BookingReminderRepository.Pending;
+import com.booking.repository.BookingReminderRepository.Reminder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Publishes {@code BOOKING_STARTING_SOON} events {@code lead-minutes} before bookings start.
+ * <p>
+ * Reminder times are kept in a {@link HierarchicalTimingWheel}, one sliding window at a time: every
+ * {@code load-interval-ms} the bookings whose reminder falls in the next {@code window-minutes} are read with one
+ * range query on {@code start_at}, so memory follows the bookings of a window rather than all future ones. Bookings
+ * created inside the loaded window join the wheel when they commit. Due reminders are claimed {@code batch-size}
+ * per UPDATE, which also drops bookings canceled since loading, and published as a batch. A batch the broker does
+ * not take is released again and retried every {@code retry-delay-ms} until its bookings start. The first window
+ * starts at the current time, so reminders missed while the application was down go out as soon as it is back, as
+ * long as the booking has not started.
+ */
+@Slf4j
+@Component
+public class BookingReminderScheduler {
+
+    /** 1 s ticks; three levels of 60 slots reach 60 hours */
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int LEVELS = 3;
+
+    private final BookingReminderRepository reminderRepository;
+    private final BookingEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Counter sent;
+
+    /** Reminder times before this are in the wheel; null until the first load */
+    private LocalDateTime loadedUntil;
+
+    @Value("${app.booking.reminders.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.reminders.lead-minutes:15}")
+    private int leadMinutes;
+
+    @Value("${app.booking.reminders.window-minutes:10}")
+    private int windowMinutes;
+
+    @Value("${app.booking.reminders.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.booking.reminders.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    public BookingReminderScheduler(BookingReminderRepository reminderRepository,
+                                    BookingEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry) {
+        this.reminderRepository = reminderRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, LEVELS, toMillis(LocalDateTime.now()));
+        this.sent = Counter.builder("booking.reminders.sent")
+                .description("Starting-soon reminders published")
+                .register(meterRegistry);
+        Gauge.builder("booking.reminders.pending", this, BookingReminderScheduler::size)
+                .description("Reminders waiting in the current window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Track a new booking once its transaction commits, if its reminder falls into the loaded window
+     */
+    public void track(Long bookingId, LocalDateTime startAt) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(bookingId, startAt);
+                }
+            });
+        } else {
+            schedule(bookingId, startAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.reminders.tick-ms:1000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = advance(now);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                List<Reminder> claimed = reminderRepository.claim(batch, now);
+                List<Long> failed = eventPublisher.publishStartingSoon(claimed.stream()
+                        .map(r -> BookingEvent.startingSoon(r.id(), r.userEmail(), r.userFullName(),
+                                r.resourceName(), r.startAt(), r.endAt()))
+                        .toList());
+                if (!failed.isEmpty()) {
+                    reminderRepository.release(failed);
+                    retry(failed, now);
+                }
+                sent.increment(claimed.size() - failed.size());
+            } catch (DataAccessException e) {
+                log.warn("Could not send {} booking reminders: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.reminders.load-interval-ms:60000}")
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime from;
+        LocalDateTime to;
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            from = loadedUntil != null ? loadedUntil : now.minusMinutes(leadMinutes);
+            LocalDateTime reach = LocalDateTime.ofInstant(Instant.ofEpochMilli(wheel.horizon()),
+                    ZoneId.systemDefault());
+            to = min(now.plusMinutes(windowMinutes), reach);
+            if (!to.isAfter(from)) {
+                return;
+            }
+            // From here on, bookings committed with reminders before `to` are tracked on commit
+            loadedUntil = to;
+        }
+
+        try {
+            List<Pending> pending = reminderRepository.findPending(
+                    from.plusMinutes(leadMinutes), to.plusMinutes(leadMinutes));
+            for (Pending booking : pending) {
+                schedule(booking.id(), booking.startAt());
+            }
+            log.debug("Loaded {} booking reminders up to {}", pending.size(), to);
+        } catch (DataAccessException e) {
+            log.warn("Could not load booking reminders from {} to {}: {}", from, to, e.getMessage());
+            // Retry the window on the next load; reminders tracked meanwhile are claimed only once anyway
+            synchronized (this) {
+                if (to.equals(loadedUntil)) {
+                    loadedUntil = from;
+                }
+            }
+        }
+    }
+
+    private synchronized void schedule(Long bookingId, LocalDateTime startAt) {
+        LocalDateTime remindAt = startAt.minusMinutes(leadMinutes);
+        if (loadedUntil != null && remindAt.isBefore(loadedUntil)) {
+            wheel.schedule(bookingId, toMillis(remindAt));
+        }
+    }
+
+    private synchronized void retry(List<Long> bookingIds, LocalDateTime now) {
+        long retryAt = toMillis(now) + retryDelayMs;
+        bookingIds.forEach(id -> wheel.schedule(id, retryAt));
+    }
+
+    private synchronized List<Long> advance(LocalDateTime now) {
+        return wheel.advance(toMillis(now));
+    }
+
+    private synchronized int size() {
+        return wheel.size();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
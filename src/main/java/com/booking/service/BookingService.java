@@ -2,6 +2,8 @@ package com.booking.service;
 
 import com.booking.dto.booking.BookingFilterRequest;
 import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.booking.BulkCancelRequest;
+import com.booking.dto.booking.BulkCancelResponse;
 import com.booking.dto.booking.CreateBookingRequest;
 import com.booking.dto.common.PageResponse;
 import com.booking.entity.Booking;
@@ -9,26 +11,38 @@ import com.booking.entity.BookingStatus;
 import com.booking.entity.Resource;
 import com.booking.entity.Role;
 import com.booking.entity.User;
+import com.booking.event.BookingEvent;
 import com.booking.event.BookingEventPublisher;
 import com.booking.exception.BookingConflictException;
 import com.booking.exception.BookingValidationException;
 import com.booking.exception.ForbiddenException;
 import com.booking.exception.ResourceNotFoundException;
+import com.booking.repository.BookingCancelRepository;
+import com.booking.repository.BookingCancelRepository.BulkCanceledBooking;
+import com.booking.repository.BookingCancelRepository.CanceledBooking;
+import com.booking.repository.BookingConfirmationRepository;
+import com.booking.repository.BookingConfirmationRepository.ConfirmedBooking;
+import com.booking.repository.BookingListQueries;
 import com.booking.repository.BookingRepository;
-import com.booking.repository.BookingSpecifications;
 import com.booking.repository.ResourceRepository;
 import com.booking.repository.UserRepository;
+import com.booking.repository.WaitlistRepository;
+import com.booking.repository.WaitlistRepository.Waiter;
+import com.booking.security.BookingRateLimiter;
 import com.booking.security.UserPrincipal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -36,9 +50,19 @@ import java.util.UUID;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingListQueries bookingListQueries;
+    private final BookingCancelRepository bookingCancelRepository;
+    private final BookingConfirmationRepository bookingConfirmationRepository;
+    private final BookingExpiryWheel expiryWheel;
+    private final BookingReminderScheduler reminderScheduler;
+    private final BookingArchiver bookingArchiver;
+    private final WaitlistRepository waitlistRepository;
     private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
     private final BookingEventPublisher eventPublisher;
+    private final BookingRateLimiter rateLimiter;
+    private final BookingMetrics metrics;
+    private final UtilizationService utilizationService;
 
     @Value("${app.booking.min-duration-minutes:15}")
     private int minDurationMinutes;
@@ -46,14 +70,46 @@ public class BookingService {
     @Value("${app.booking.max-duration-hours:8}")
     private int maxDurationHours;
 
+    @Value("${app.booking.confirmation.check-in-opens-minutes:15}")
+    private int checkInOpensMinutes;
+
+    @Value("${app.booking.confirmation.catch-up-hours:24}")
+    private int catchUpHours;
+
+    @Value("${app.booking.waitlist.enabled:true}")
+    private boolean waitlistEnabled;
+
+    @Value("${app.booking.waitlist.promotion-candidates:20}")
+    private int promotionCandidates;
+
     public BookingService(BookingRepository bookingRepository,
+                          BookingListQueries bookingListQueries,
+                          BookingCancelRepository bookingCancelRepository,
+                          BookingConfirmationRepository bookingConfirmationRepository,
+                          BookingExpiryWheel expiryWheel,
+                          BookingReminderScheduler reminderScheduler,
+                          BookingArchiver bookingArchiver,
+                          WaitlistRepository waitlistRepository,
                           ResourceRepository resourceRepository,
                           UserRepository userRepository,
-                          BookingEventPublisher eventPublisher) {
+                          BookingEventPublisher eventPublisher,
+                          BookingRateLimiter rateLimiter,
+                          BookingMetrics metrics,
+                          UtilizationService utilizationService) {
         this.bookingRepository = bookingRepository;
+        this.bookingListQueries = bookingListQueries;
+        this.bookingCancelRepository = bookingCancelRepository;
+        this.bookingConfirmationRepository = bookingConfirmationRepository;
+        this.expiryWheel = expiryWheel;
+        this.reminderScheduler = reminderScheduler;
+        this.bookingArchiver = bookingArchiver;
+        this.waitlistRepository = waitlistRepository;
         this.resourceRepository = resourceRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.utilizationService = utilizationService;
     }
 
     /**
@@ -61,22 +117,32 @@ public class BookingService {
      */
     @Transactional
     public BookingResponse createBooking(CreateBookingRequest request, UserPrincipal principal) {
+        return metrics.time(BookingMetrics.CREATE, () -> doCreateBooking(request, principal));
+    }
+
+    private BookingResponse doCreateBooking(CreateBookingRequest request, UserPrincipal principal) {
         log.info("Creating booking for resource {} by user {}", request.getResourceId(), principal.getEmail());
         
         // Validate time constraints
         validateBookingTime(request.getStartAt(), request.getEndAt());
 
-        // Find resource
-        Resource resource = resourceRepository.findByIdAndIsActiveTrue(request.getResourceId())
+        // Throttle hot resources before touching the database
+        rateLimiter.checkResource(request.getResourceId());
+
+        // Find resource; by id so the second-level cache can serve it
+        Resource resource = resourceRepository.findById(request.getResourceId())
+                .filter(Resource::getIsActive)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource", request.getResourceId()));
 
         // Check for overlapping bookings
         if (bookingRepository.existsOverlappingBooking(
                 request.getResourceId(), 
                 request.getStartAt(), 
-                request.getEndAt())) {
+                request.getEndAt(),
+                request.getStartAt().minusHours(maxDurationHours))) {
             log.warn("Booking conflict for resource {} at {} - {}", 
                     request.getResourceId(), request.getStartAt(), request.getEndAt());
+            metrics.rejected(BookingMetrics.CREATE, "conflict");
             throw new BookingConflictException(request.getResourceId());
         }
 
@@ -92,11 +158,16 @@ public class BookingService {
         booking.setEndAt(request.getEndAt());
         booking.setDescription(request.getDescription());
         booking.setStatus(BookingStatus.CREATED);
+        booking.setConfirmationRequired(expiryWheel.isEnabled());
 
         Booking saved = bookingRepository.save(booking);
         log.info("Booking {} created successfully for resource {} by user {}", 
                 saved.getId(), resource.getName(), principal.getEmail());
         
+        utilizationService.recordCreated(saved);
+        expiryWheel.track(saved.getId(), saved.getStartAt());
+        reminderScheduler.track(saved.getId(), saved.getStartAt());
+
         // Publish event for notification-service
         eventPublisher.publishBookingCreated(saved);
         
@@ -104,37 +175,28 @@ public class BookingService {
     }
 
     /**
-     * Get bookings with filters (USER sees only own, ADMIN sees all)
+     * Get bookings with filters (USER sees only own, ADMIN sees all).
+     * Archived bookings are included only when dateFrom reaches back past the archive horizon.
      */
     @Transactional(readOnly = true)
     public PageResponse<BookingResponse> getBookings(BookingFilterRequest filter, 
                                                       Pageable pageable,
                                                       UserPrincipal principal) {
-        Specification<Booking> spec = Specification.where(null);
+        return metrics.time(BookingMetrics.LIST, () -> doGetBookings(filter, pageable, principal));
+    }
 
+    private PageResponse<BookingResponse> doGetBookings(BookingFilterRequest filter,
+                                                        Pageable pageable,
+                                                        UserPrincipal principal) {
         // USER can only see their own bookings
-        if (principal.getRole() != Role.ADMIN) {
-            spec = spec.and(BookingSpecifications.hasUserId(principal.getId()));
-        }
-
-        // Apply filters
-        if (filter.getResourceId() != null) {
-            spec = spec.and(BookingSpecifications.hasResourceId(filter.getResourceId()));
-        }
-        if (filter.getStatus() != null) {
-            spec = spec.and(BookingSpecifications.hasStatus(filter.getStatus()));
-        }
-        if (filter.getDateFrom() != null) {
-            spec = spec.and(BookingSpecifications.startsAfter(filter.getDateFrom()));
-        }
-        if (filter.getDateTo() != null) {
-            spec = spec.and(BookingSpecifications.endsBefore(filter.getDateTo()));
-        }
-
-        Page<Booking> page = bookingRepository.findAll(spec, pageable);
+        UUID userId = principal.getRole() != Role.ADMIN ? principal.getId() : null;
+        boolean includeArchive = bookingArchiver.reachesArchive(filter.getDateFrom());
+        return toPageResponse(bookingListQueries.findPage(filter, userId, includeArchive, pageable));
+    }
 
+    private PageResponse<BookingResponse> toPageResponse(Page<BookingResponse> page) {
         return PageResponse.<BookingResponse>builder()
-                .content(page.getContent().stream().map(this::toResponse).toList())
+                .content(page.getContent())
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
@@ -165,44 +227,260 @@ public class BookingService {
      */
     @Transactional
     public BookingResponse cancelBooking(Long id, UserPrincipal principal) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", id));
+        return metrics.time(BookingMetrics.CANCEL, () -> doCancelBooking(id, principal));
+    }
 
-        // Check access
-        if (!canAccessBooking(booking, principal)) {
-            throw new ForbiddenException("You don't have permission to cancel this booking");
+    /**
+     * One conditional UPDATE does the access, status and start-time checks and the write. Only when it matches
+     * nothing is the booking looked up, to tell the caller why. The resource it returns is then throttled; a
+     * throttled cancel rolls back with the transaction. The freed slot goes to the waitlist in the same transaction.
+     */
+    private BookingResponse doCancelBooking(Long id, UserPrincipal principal) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean admin = principal.getRole() == Role.ADMIN;
+        CanceledBooking canceled = bookingCancelRepository.cancel(id, principal.getId(), admin, now)
+                .orElseThrow(() -> cancelRejection(id, principal, now));
+        // Only requests that could cancel spend a resource token
+        rateLimiter.checkResource(canceled.resourceId());
+
+        Booking booking = toBooking(canceled.id(), canceled.resourceId(), canceled.userId(), canceled.startAt(),
+                canceled.endAt(), BookingStatus.CANCELED, canceled.description(), canceled.createdAt());
+        utilizationService.recordCanceled(booking);
+
+        // Publish event for notification-service
+        eventPublisher.publishBookingCanceled(booking);
+
+        if (waitlistEnabled) {
+            promoteWaiters(booking, now);
+        }
+
+        return toResponse(booking);
+    }
+
+    /**
+     * Book the freed slot for the waiters whose requests overlap it, oldest first. A waiter is skipped while its
+     * window still clashes with another booking, so one freed slot can serve several shorter requests. Locked
+     * entries are skipped on PostgreSQL, so concurrent cancels on a resource never hand out the same entry.
+     */
+    private void promoteWaiters(Booking freed, LocalDateTime now) {
+        Long resourceId = freed.getResource().getId();
+        List<Waiter> waiters = waitlistRepository.lockOverlapping(resourceId, freed.getStartAt(), freed.getEndAt(),
+                freed.getStartAt().minusHours(maxDurationHours), now, promotionCandidates);
+        for (Waiter waiter : waiters) {
+            if (bookingRepository.existsOverlappingBooking(resourceId, waiter.startAt(), waiter.endAt(),
+                    waiter.startAt().minusHours(maxDurationHours))) {
+                continue;
+            }
+
+            // Entries of deactivated users are dropped rather than booked
+            User user = userRepository.findById(waiter.userId())
+                    .filter(User::getIsActive)
+                    .orElse(null);
+            waitlistRepository.delete(waiter.id());
+            if (user == null) {
+                continue;
+            }
+
+            Booking booking = new Booking();
+            booking.setResource(freed.getResource());
+            booking.setUser(user);
+            booking.setStartAt(waiter.startAt());
+            booking.setEndAt(waiter.endAt());
+            booking.setDescription(waiter.description());
+            booking.setStatus(BookingStatus.CREATED);
+            booking.setConfirmationRequired(expiryWheel.isEnabled());
+
+            Booking saved = bookingRepository.save(booking);
+            log.info("Booking {} created from waitlist entry {} for resource {}",
+                    saved.getId(), waiter.id(), resourceId);
+
+            utilizationService.recordCreated(saved);
+            expiryWheel.track(saved.getId(), saved.getStartAt());
+            reminderScheduler.track(saved.getId(), saved.getStartAt());
+            metrics.waitlistPromoted();
+            eventPublisher.publishBookingCreated(saved);
+        }
+    }
+
+    /**
+     * Cancel every future booking matching the filter in one statement (ADMIN). Owners are notified through
+     * batched events once the transaction commits.
+     */
+    @Transactional
+    public BulkCancelResponse cancelBookings(BulkCancelRequest request) {
+        return metrics.time(BookingMetrics.BULK_CANCEL, () -> BulkCancelResponse.builder()
+                .canceled(cancelAll(request.getResourceId(), request.getUserId(),
+                        request.getDateFrom(), request.getDateTo()))
+                .build());
+    }
+
+    /**
+     * Cancel the future bookings of a resource that is being deactivated; joins the caller's transaction
+     */
+    @Transactional
+    public int cancelFutureBookings(Long resourceId) {
+        return metrics.time(BookingMetrics.BULK_CANCEL, () -> cancelAll(resourceId, null, null, null));
+    }
+
+    private int cancelAll(Long resourceId, UUID userId, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        List<BulkCanceledBooking> canceled = bookingCancelRepository.cancelAll(
+                resourceId, userId, dateFrom, dateTo, LocalDateTime.now());
+        if (!canceled.isEmpty()) {
+            log.info("Canceled {} bookings (resource {}, user {}, {} - {})",
+                    canceled.size(), resourceId, userId, dateFrom, dateTo);
+        }
+        return afterBulkCancel(canceled);
+    }
+
+    /**
+     * Release the given bookings if they are still unconfirmed past their deadline (expiry sweeper)
+     */
+    @Transactional
+    public int releaseUnconfirmed(List<Long> ids) {
+        return metrics.time(BookingMetrics.RELEASE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            return afterBulkCancel(bookingCancelRepository.releaseUnconfirmed(
+                    ids, expiryWheel.startOf(now).minusHours(catchUpHours), expiryWheel.startOf(now), now));
+        });
+    }
+
+    /**
+     * Release every unconfirmed booking whose deadline passed in the last {@code catch-up-hours}
+     */
+    @Transactional
+    public int releaseOverdue() {
+        return metrics.time(BookingMetrics.RELEASE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            int released = afterBulkCancel(bookingCancelRepository.releaseOverdue(
+                    expiryWheel.startOf(now).minusHours(catchUpHours), expiryWheel.startOf(now), now));
+            if (released > 0) {
+                log.info("Released {} overdue unconfirmed bookings", released);
+            }
+            return released;
+        });
+    }
+
+    /**
+     * Rollups and batched events for bookings canceled by one set-based statement, after commit
+     */
+    private int afterBulkCancel(List<BulkCanceledBooking> canceled) {
+        if (canceled.isEmpty()) {
+            return 0;
         }
 
-        // Check if already canceled
+        utilizationService.recordCanceled(canceled.stream()
+                .map(b -> new UtilizationService.Slot(b.resourceId(), b.startAt(), b.endAt()))
+                .toList());
+
+        List<BookingEvent> events = canceled.stream()
+                .map(b -> BookingEvent.canceled(b.id(), b.userEmail(), b.userFullName(), b.resourceName(),
+                        b.startAt(), b.endAt()))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishBookingsCanceled(events);
+                }
+            });
+        } else {
+            eventPublisher.publishBookingsCanceled(events);
+        }
+        return canceled.size();
+    }
+
+    private RuntimeException cancelRejection(Long id, UserPrincipal principal, LocalDateTime now) {
+        Booking booking = bookingRepository.findById(id).orElse(null);
+        if (booking == null) {
+            return new ResourceNotFoundException("Booking", id);
+        }
+        if (!canAccessBooking(booking, principal)) {
+            return new ForbiddenException("You don't have permission to cancel this booking");
+        }
         if (booking.getStatus() == BookingStatus.CANCELED) {
-            throw new BookingValidationException("Booking is already canceled");
+            metrics.rejected(BookingMetrics.CANCEL, "already_canceled");
+            return new BookingValidationException("Booking is already canceled");
+        }
+        if (!booking.getStartAt().isAfter(now)) {
+            metrics.rejected(BookingMetrics.CANCEL, "already_started");
+            return new BookingValidationException("Cannot cancel a booking that has already started");
         }
+        // Cancelable now, so another transaction changed it in between
+        metrics.rejected(BookingMetrics.CANCEL, "concurrent_update");
+        return new BookingConflictException("Booking " + id + " was modified concurrently, please retry");
+    }
+
+    /**
+     * Confirm a booking before its deadline (owner or ADMIN). Confirming twice is harmless.
+     */
+    @Transactional
+    public BookingResponse confirmBooking(Long id, UserPrincipal principal) {
+        return metrics.time(BookingMetrics.CONFIRM, () -> doConfirm(id, principal, false));
+    }
 
-        // Check if booking is in the past
-        if (booking.getStartAt().isBefore(LocalDateTime.now())) {
-            throw new BookingValidationException("Cannot cancel a booking that has already started");
+    /**
+     * Check in to a booking: a confirmation that is only accepted from {@code check-in-opens-minutes} before
+     * the start until the deadline
+     */
+    @Transactional
+    public BookingResponse checkIn(Long id, UserPrincipal principal) {
+        return metrics.time(BookingMetrics.CHECK_IN, () -> doConfirm(id, principal, true));
+    }
+
+    private BookingResponse doConfirm(Long id, UserPrincipal principal, boolean checkIn) {
+        String operation = checkIn ? BookingMetrics.CHECK_IN : BookingMetrics.CONFIRM;
+        LocalDateTime now = LocalDateTime.now();
+        // Confirmable while the deadline, start + grace, lies ahead
+        LocalDateTime earliestStart = expiryWheel.startOf(now);
+        LocalDateTime latestStart = checkIn ? now.plusMinutes(checkInOpensMinutes) : null;
+
+        Optional<ConfirmedBooking> confirmed = bookingConfirmationRepository.confirm(
+                id, principal.getId(), principal.getRole() == Role.ADMIN, earliestStart, latestStart, now);
+        if (confirmed.isPresent()) {
+            ConfirmedBooking row = confirmed.get();
+            return toResponse(toBooking(row.id(), row.resourceId(), row.userId(), row.startAt(), row.endAt(),
+                    BookingStatus.CONFIRMED, row.description(), row.createdAt()));
         }
 
-        booking.setStatus(BookingStatus.CANCELED);
-        Booking saved = bookingRepository.save(booking);
-        
-        // Publish event for notification-service
-        eventPublisher.publishBookingCanceled(saved);
-        
-        return toResponse(saved);
+        // Nothing matched; find out why
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", id));
+        if (!canAccessBooking(booking, principal)) {
+            throw new ForbiddenException("You don't have permission to confirm this booking");
+        }
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            return toResponse(booking);
+        }
+        if (booking.getStatus() == BookingStatus.CANCELED) {
+            metrics.rejected(operation, "canceled");
+            throw new BookingValidationException("Booking is canceled");
+        }
+        if (!booking.getStartAt().isAfter(earliestStart)) {
+            metrics.rejected(operation, "deadline_passed");
+            throw new BookingValidationException("The confirmation deadline of this booking has passed");
+        }
+        if (latestStart != null && booking.getStartAt().isAfter(latestStart)) {
+            metrics.rejected(operation, "check_in_not_open");
+            throw new BookingValidationException(
+                    "Check-in opens " + checkInOpensMinutes + " minutes before the booking starts");
+        }
+        metrics.rejected(operation, "concurrent_update");
+        throw new BookingConflictException("Booking " + id + " was modified concurrently, please retry");
     }
 
     /**
      * Validate booking time constraints
      */
-    private void validateBookingTime(LocalDateTime startAt, LocalDateTime endAt) {
+    void validateBookingTime(LocalDateTime startAt, LocalDateTime endAt) {
         // Start must be before end
         if (!startAt.isBefore(endAt)) {
+            metrics.rejected(BookingMetrics.CREATE, "end_before_start");
             throw new BookingValidationException("Start time must be before end time");
         }
 
         // Must be in the future
         if (startAt.isBefore(LocalDateTime.now())) {
+            metrics.rejected(BookingMetrics.CREATE, "in_past");
             throw new BookingValidationException("Booking must be in the future");
         }
 
@@ -211,12 +489,14 @@ public class BookingService {
         long minutes = duration.toMinutes();
 
         if (minutes < minDurationMinutes) {
+            metrics.rejected(BookingMetrics.CREATE, "too_short");
             throw new BookingValidationException(
                     "Booking duration must be at least " + minDurationMinutes + " minutes");
         }
 
         long maxMinutes = maxDurationHours * 60L;
         if (minutes > maxMinutes) {
+            metrics.rejected(BookingMetrics.CREATE, "too_long");
             throw new BookingValidationException(
                     "Booking duration cannot exceed " + maxDurationHours + " hours");
         }
@@ -234,10 +514,29 @@ public class BookingService {
         return booking.getUser().getId().equals(principal.getId());
     }
 
+    /**
+     * Rebuild a booking from a row returned by an UPDATE; resource and user come from the second-level cache
+     */
+    private Booking toBooking(Long id, Long resourceId, UUID userId, LocalDateTime startAt, LocalDateTime endAt,
+                              BookingStatus status, String description, LocalDateTime createdAt) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResource(resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource", resourceId)));
+        booking.setUser(userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId)));
+        booking.setStartAt(startAt);
+        booking.setEndAt(endAt);
+        booking.setStatus(status);
+        booking.setDescription(description);
+        booking.setCreatedAt(createdAt);
+        return booking;
+    }
+
     /**
      * Convert entity to response DTO
      */
-    private BookingResponse toResponse(Booking booking) {
+    BookingResponse toResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setResourceId(booking.getResource().getId());
@@ -0,0 +1,134 @@
+package com.booking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck). Level 0 has {@code wheelSize} slots of {@code tickMillis}; each
+ * higher level has {@code wheelSize} slots as wide as the whole level below. Scheduling is O(1), and advancing by
+ * one tick empties one slot of level 0 and, on a level boundary, spreads one slot of a higher level over the lower
+ * ones, so the cost follows the number of entries that fire rather than the number waiting.
+ * <p>
+ * An entry fires on the first tick at or after its deadline; entries whose deadline has already passed fire on the
+ * next {@link #advance}. Not thread-safe.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] slotMillis;
+    private final List<Entry<T>>[][] slots;
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMillis > 0, wheelSize > 1 and levels > 0 required");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slotMillis = new long[levels];
+        this.slots = new List[levels][wheelSize];
+        long width = tickMillis;
+        for (int level = 0; level < levels; level++) {
+            slotMillis[level] = width;
+            width = Math.multiplyExact(width, wheelSize);
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedule {@code item} to fire at {@code deadlineMillis}.
+     *
+     * @return false if the deadline lies beyond the top level; the item is not scheduled
+     */
+    boolean schedule(T item, long deadlineMillis) {
+        if (deadlineMillis < currentTime) {
+            overdue.add(item);
+            return true;
+        }
+        return place(new Entry<>(item, deadlineMillis));
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis} and return every entry whose deadline was reached, oldest tick first
+     */
+    List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>(overdue);
+        overdue.clear();
+        while (currentTime + tickMillis <= nowMillis) {
+            // Level 0's current slot holds [currentTime, currentTime + tick)
+            for (Entry<T> entry : take(0, currentTime)) {
+                due.add(entry.item());
+            }
+            currentTime += tickMillis;
+
+            // On a boundary of a higher level its slot starting now moves down, top level first so that entries
+            // cascading more than one level are carried all the way
+            for (int level = slotMillis.length - 1; level > 0; level--) {
+                if (currentTime % slotMillis[level] == 0) {
+                    for (Entry<T> entry : take(level, currentTime)) {
+                        if (entry.deadline() < currentTime) {
+                            due.add(entry.item());
+                        } else {
+                            place(entry);
+                        }
+                    }
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Latest deadline {@link #schedule} accepts right now
+     */
+    long horizon() {
+        int top = slotMillis.length - 1;
+        long topStart = currentTime - Math.floorMod(currentTime, slotMillis[top]);
+        return topStart + slotMillis[top] * wheelSize - 1;
+    }
+
+    /**
+     * Entries waiting in the wheel, excluding overdue ones not yet returned by {@link #advance}
+     */
+    int size() {
+        return size;
+    }
+
+    private boolean place(Entry<T> entry) {
+        for (int level = 0; level < slotMillis.length; level++) {
+            long levelStart = currentTime - Math.floorMod(currentTime, slotMillis[level]);
+            if (entry.deadline() < levelStart + slotMillis[level] * wheelSize) {
+                int index = index(level, entry.deadline());
+                if (slots[level][index] == null) {
+                    slots[level][index] = new ArrayList<>();
+                }
+                slots[level][index].add(entry);
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Entry<T>> take(int level, long time) {
+        int index = index(level, time);
+        List<Entry<T>> slot = slots[level][index];
+        if (slot == null) {
+            return List.of();
+        }
+        slots[level][index] = null;
+        size -= slot.size();
+        return slot;
+    }
+
+    private int index(int level, long time) {
+        return (int) Math.floorMod(Math.floorDiv(time, slotMillis[level]), (long) wheelSize);
+    }
+
+    private record Entry<T>(T item, long deadline) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.booking.service;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.resource.ResourceFilterRequest;
+import com.booking.dto.resource.ResourceResponse;
+import com.booking.entity.Role;
+import com.booking.exception.BookingValidationException;
+import com.booking.repository.ReactiveReadRepository;
+import com.booking.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming counterparts of the paged booking and resource listings.
+ * Same filters and visibility rules, no page count query, and no thread or JDBC connection held while
+ * the client consumes the stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final BookingArchiver bookingArchiver;
+
+    @Value("${app.reactive.max-items:10000}")
+    private int maxItems;
+
+    /**
+     * Stream bookings (USER sees only own bookings, ADMIN sees all), including archived ones when
+     * {@code dateFrom} reaches the archive horizon, like the paged listing
+     */
+    public Flux<BookingResponse> streamBookings(BookingFilterRequest filter, int limit, UserPrincipal principal) {
+        validateLimit(limit);
+        return reactiveReadRepository.streamBookings(
+                filter,
+                principal.getRole() == Role.ADMIN ? null : principal.getId(),
+                bookingArchiver.reachesArchive(filter.getDateFrom()),
+                limit);
+    }
+
+    /**
+     * Stream resources matching the filter
+     */
+    public Flux<ResourceResponse> streamResources(ResourceFilterRequest filter, int limit) {
+        validateLimit(limit);
+        return reactiveReadRepository.streamResources(filter, limit);
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > maxItems) {
+            throw new BookingValidationException("limit must be between 1 and " + maxItems);
+        }
+    }
+}
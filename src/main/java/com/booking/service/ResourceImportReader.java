@@ -0,0 +1,220 @@
+package com.booking.service;
+
+import com.booking.repository.ResourceImportRepository.StagedRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams resource import rows out of CSV (RFC 4180, header required) or NDJSON without buffering the input.
+ * Only parsing happens here: a row that cannot be parsed is passed on with an error, everything else is
+ * validated by the database.
+ */
+class ResourceImportReader {
+
+    enum Format { CSV, NDJSON }
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "location", "capacity", "description", "is_active");
+
+    private final ObjectMapper objectMapper;
+
+    ResourceImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parse every row and hand it to {@code sink}; returns the number of rows read.
+     * Row numbers are 1-based data rows, not counting the CSV header.
+     */
+    int read(InputStream input, Format format, Consumer<StagedRow> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        return format == Format.CSV ? readCsv(reader, sink) : readNdjson(reader, sink);
+    }
+
+    private int readCsv(Reader reader, Consumer<StagedRow> sink) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return 0;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("isactive", "is_active"), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("capacity")) {
+            throw new IllegalArgumentException("CSV header must name the columns, at least name and capacity; "
+                    + "supported: " + String.join(", ", CSV_COLUMNS));
+        }
+
+        int rowNo = 0;
+        List<String> record;
+        while ((record = records.next()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            rowNo++;
+            if (record.size() != header.size()) {
+                sink.accept(error(rowNo, "Expected " + header.size() + " columns, found " + record.size()));
+                continue;
+            }
+            sink.accept(row(rowNo,
+                    field(record, columns, "name"),
+                    field(record, columns, "location"),
+                    field(record, columns, "capacity"),
+                    field(record, columns, "description"),
+                    field(record, columns, "is_active")));
+        }
+        return rowNo;
+    }
+
+    private int readNdjson(BufferedReader reader, Consumer<StagedRow> sink) throws IOException {
+        int rowNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNo++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                sink.accept(error(rowNo, "Invalid JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (!node.isObject()) {
+                sink.accept(error(rowNo, "Expected a JSON object"));
+                continue;
+            }
+            sink.accept(row(rowNo,
+                    text(node, "name"),
+                    text(node, "location"),
+                    text(node, "capacity"),
+                    text(node, "description"),
+                    node.has("isActive") ? text(node, "isActive") : text(node, "is_active")));
+        }
+        return rowNo;
+    }
+
+    private static StagedRow row(int rowNo, String name, String location, String capacity, String description,
+                                 String isActive) {
+        Integer parsedCapacity = null;
+        if (capacity != null) {
+            try {
+                parsedCapacity = Integer.valueOf(capacity.trim());
+            } catch (NumberFormatException e) {
+                return error(rowNo, "Capacity must be a whole number");
+            }
+        }
+        Boolean active = true;
+        if (isActive != null) {
+            String value = isActive.trim().toLowerCase(Locale.ROOT);
+            if (value.equals("true") || value.equals("false")) {
+                active = Boolean.valueOf(value);
+            } else {
+                return error(rowNo, "is_active must be true or false");
+            }
+        }
+        return new StagedRow(rowNo, trimToNull(name), trimToNull(location), parsedCapacity, description, active, null);
+    }
+
+    private static StagedRow error(int rowNo, String message) {
+        return new StagedRow(rowNo, null, null, null, null, null, message);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain separators, doubled quotes and line breaks
+     */
+    static class CsvRecordReader {
+
+        private final Reader reader;
+        private boolean eof;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /** The next record, or null at the end of the input */
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (c == -1) {
+                eof = true;
+                if (!any) {
+                    return null;
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.booking.service;
+
+import com.booking.config.ClusterChangeBus;
+import com.booking.config.ClusterChangeBus.Topic;
+import com.booking.config.EntityCacheEvictor;
+import com.booking.dto.resource.ResourceImportResponse;
+import com.booking.entity.Resource;
+import com.booking.exception.ApiException;
+import com.booking.repository.ResourceImportRepository;
+import com.booking.repository.ResourceImportRepository.MergeResult;
+import com.booking.repository.ResourceImportRepository.StagingWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bulk resource import. The request body is parsed as it arrives and streamed straight into the staging
+ * table, so memory use does not grow with the file; validation and the merge into resources run as a
+ * handful of set-based statements. The whole import is one transaction: either every valid row is applied
+ * or, on a failure, none is.
+ */
+@Slf4j
+@Service
+public class ResourceImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ResourceImportRepository importRepository;
+    private final ResourceImportReader reader;
+    private final EntityCacheEvictor cacheEvictor;
+    private final ClusterChangeBus changeBus;
+    private final BookingService bookingService;
+
+    @Value("${app.resources.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.resources.import.max-errors:100}")
+    private int maxErrors;
+
+    public ResourceImportService(ResourceImportRepository importRepository, ObjectMapper objectMapper,
+                                 EntityCacheEvictor cacheEvictor, ClusterChangeBus changeBus,
+                                 BookingService bookingService) {
+        this.importRepository = importRepository;
+        this.reader = new ResourceImportReader(objectMapper);
+        this.cacheEvictor = cacheEvictor;
+        this.changeBus = changeBus;
+        this.bookingService = bookingService;
+    }
+
+    @Transactional
+    public ResourceImportResponse importResources(InputStream input, MediaType contentType) {
+        ResourceImportReader.Format format = formatOf(contentType);
+        long started = System.nanoTime();
+
+        int received;
+        try (StagingWriter writer = importRepository.openStaging(batchSize)) {
+            received = reader.read(input, format, writer::write);
+            writer.finish();
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the import file", e);
+        }
+
+        MergeResult merged = importRepository.validateAndMerge();
+        if (merged.updated() > 0) {
+            // The MERGE bypasses Hibernate, so cached resources would keep their old values
+            cacheEvictor.evictAllAfterCommit(Resource.class);
+            changeBus.publish(Topic.RESOURCES, null);
+        }
+        // Same cascade as deactivating a resource through the API, in the import's transaction
+        merged.deactivated().forEach(bookingService::cancelFutureBookings);
+        int rejected = importRepository.countRejected();
+        List<ResourceImportResponse.RowError> errors = importRepository.findErrors(maxErrors).stream()
+                .map(e -> new ResourceImportResponse.RowError(e.row(), e.message()))
+                .toList();
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Imported resources ({}): {} rows, {} inserted, {} updated, {} rejected in {} ms",
+                format, received, merged.inserted(), merged.updated(), rejected, durationMs);
+        return ResourceImportResponse.builder()
+                .received(received)
+                .inserted(merged.inserted())
+                .updated(merged.updated())
+                .rejected(rejected)
+                .errors(errors)
+                .errorsTruncated(rejected > errors.size())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private static ResourceImportReader.Format formatOf(MediaType contentType) {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            return ResourceImportReader.Format.CSV;
+        }
+        if (contentType != null && APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return ResourceImportReader.Format.NDJSON;
+        }
+        throw new ApiException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Import files must be text/csv or application/x-ndjson");
+    }
+}
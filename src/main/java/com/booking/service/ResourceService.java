@@ -1,5 +1,7 @@
 package com.booking.service;
 
+import com.booking.config.ClusterChangeBus;
+import com.booking.config.ClusterChangeBus.Topic;
 import com.booking.dto.common.PageResponse;
 import com.booking.dto.resource.*;
 import com.booking.entity.Resource;
@@ -22,6 +24,8 @@ import java.util.stream.Collectors;
 public class ResourceService {
 
     private final ResourceRepository resourceRepository;
+    private final BookingService bookingService;
+    private final ClusterChangeBus changeBus;
 
     @Transactional(readOnly = true)
     public PageResponse<ResourceResponse> getAllResources(
@@ -66,6 +70,7 @@ public class ResourceService {
                 .build();
 
         Resource savedResource = resourceRepository.save(resource);
+        changeBus.publish(Topic.RESOURCES, savedResource.getId());
         return mapToResourceResponse(savedResource);
     }
 
@@ -86,14 +91,22 @@ public class ResourceService {
         if (request.getDescription() != null) {
             resource.setDescription(request.getDescription());
         }
+        boolean deactivated = Boolean.TRUE.equals(resource.getIsActive()) && Boolean.FALSE.equals(request.getIsActive());
         if (request.getIsActive() != null) {
             resource.setIsActive(request.getIsActive());
         }
 
         Resource savedResource = resourceRepository.save(resource);
+        changeBus.publish(Topic.RESOURCES, id);
+        if (deactivated) {
+            bookingService.cancelFutureBookings(id);
+        }
         return mapToResourceResponse(savedResource);
     }
 
+    /**
+     * Deactivate the resource and cancel its future bookings in the same transaction
+     */
     @Transactional
     public void deleteResource(Long id) {
         Resource resource = resourceRepository.findById(id)
@@ -102,6 +115,8 @@ public class ResourceService {
         // Soft delete - deactivate instead of removing
         resource.setIsActive(false);
         resourceRepository.save(resource);
+        changeBus.publish(Topic.RESOURCES, id);
+        bookingService.cancelFutureBookings(id);
     }
 
     private Specification<Resource> buildSpecification(ResourceFilterRequest filter) {
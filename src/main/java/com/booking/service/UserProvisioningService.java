@@ -0,0 +1,296 @@
+package com.booking.service;
+
+import com.booking.dto.user.ProvisionUserEntry;
+import com.booking.dto.user.ProvisionUsersRequest;
+import com.booking.dto.user.ProvisioningJobResponse;
+import com.booking.dto.user.ProvisioningJobResponse.EntryError;
+import com.booking.dto.user.ProvisioningJobResponse.Status;
+import com.booking.entity.Role;
+import com.booking.exception.ApiException;
+import com.booking.exception.ResourceNotFoundException;
+import com.booking.repository.UserProvisioningRepository;
+import com.booking.repository.UserProvisioningRepository.NewUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk account provisioning, e.g. from an HR directory export.
+ * <p>
+ * A request becomes a background job whose progress can be polled. The job works in chunks of
+ * {@code batch-size} entries: one query finds the emails that already exist, so duplicates are never hashed;
+ * the remaining passwords are hashed in parallel on a fork-join pool of {@code hashing-parallelism} threads,
+ * kept small so logins on the {@link com.booking.security.PasswordHashingExecutor} pool still get CPU; and the
+ * chunk is inserted in one JDBC batch and committed. Entries with a BCrypt {@code passwordHash} or without any
+ * password (SSO-only) skip hashing altogether. Jobs run one at a time.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+    /** Never produced by BCrypt, so no password matches it */
+    static final String NO_PASSWORD_HASH = "!";
+
+    private final UserProvisioningRepository provisioningRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+    private final ExecutorService jobExecutor;
+    private final Cache<UUID, Job> jobs;
+
+    @Value("${app.users.provisioning.max-users:100000}")
+    private int maxUsers;
+
+    @Value("${app.users.provisioning.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.users.provisioning.hashing-parallelism:2}")
+    private int hashingParallelism;
+
+    @Value("${app.users.provisioning.max-errors:100}")
+    private int maxErrors;
+
+    public UserProvisioningService(UserProvisioningRepository provisioningRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.users.provisioning.job-retention-minutes:60}") long retentionMinutes) {
+        this.provisioningRepository = provisioningRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-provisioning-"));
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .build();
+    }
+
+    /**
+     * Queue a provisioning job and return its initial status
+     */
+    public ProvisioningJobResponse submit(ProvisionUsersRequest request) {
+        List<ProvisionUserEntry> entries = request.getUsers();
+        if (entries.size() > maxUsers) {
+            throw new ApiException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxUsers + " users can be provisioned per request");
+        }
+        Job job = new Job(UUID.randomUUID(), entries.size(), maxErrors);
+        jobs.put(job.id, job);
+        jobExecutor.execute(() -> run(job, entries));
+        return job.snapshot();
+    }
+
+    public ProvisioningJobResponse getJob(UUID jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Provisioning job", jobId);
+        }
+        return job.snapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private void run(Job job, List<ProvisionUserEntry> entries) {
+        job.start();
+        long started = System.nanoTime();
+        Set<String> seen = new HashSet<>();
+        try (ForkJoinPool hashingPool = new ForkJoinPool(hashingParallelism)) {
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, entries.size());
+                processChunk(job, entries, from, to, seen, hashingPool);
+                log.debug("Provisioning job {}: {}/{} users processed", job.id, to, entries.size());
+            }
+            job.finish(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("Interrupted");
+        } catch (RuntimeException | ExecutionException e) {
+            log.error("Provisioning job {} failed", job.id, e);
+            job.finish(e instanceof ExecutionException ? e.getCause().getMessage() : e.getMessage());
+        }
+        // Restart the retention period from completion
+        jobs.put(job.id, job);
+        log.info("Provisioning job {} {}: {} users, {} created, {} duplicates, {} rejected in {} ms", job.id,
+                job.status, job.total, job.created, job.duplicates, job.rejected,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void processChunk(Job job, List<ProvisionUserEntry> entries, int from, int to, Set<String> seen,
+                              ForkJoinPool hashingPool) throws InterruptedException, ExecutionException {
+        List<Pending> pending = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ProvisionUserEntry entry = entries.get(i);
+            String error = validate(entry);
+            if (error != null) {
+                job.reject(i, entry.getEmail(), error);
+                continue;
+            }
+            String email = entry.getEmail().trim().toLowerCase(Locale.ROOT);
+            if (!seen.add(email)) {
+                job.duplicate(i, email, "Duplicate of an earlier entry");
+                continue;
+            }
+            pending.add(new Pending(i, email, entry));
+        }
+        if (pending.isEmpty()) {
+            job.processed(to);
+            return;
+        }
+
+        Set<String> existing = provisioningRepository.findExistingEmails(pending.stream().map(Pending::email).toList());
+        pending.removeIf(p -> {
+            if (existing.contains(p.email)) {
+                job.duplicate(p.index, p.email, "Email already registered");
+                return true;
+            }
+            return false;
+        });
+
+        List<NewUser> users = hashingPool.submit(() -> pending.parallelStream()
+                .map(this::toNewUser)
+                .toList()).get();
+
+        boolean[] inserted = chunkTransaction.execute(status -> provisioningRepository.insertAll(users));
+        for (int i = 0; i < pending.size(); i++) {
+            if (inserted != null && inserted[i]) {
+                job.created();
+            } else {
+                job.duplicate(pending.get(i).index, pending.get(i).email, "Email already registered");
+            }
+        }
+        job.processed(to);
+    }
+
+    private String validate(ProvisionUserEntry entry) {
+        Set<ConstraintViolation<ProvisionUserEntry>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted(Comparator.naturalOrder())
+                    .findFirst()
+                    .orElseThrow();
+        }
+        if (entry.getPassword() != null && entry.getPasswordHash() != null) {
+            return "Give either a password or a password hash, not both";
+        }
+        return null;
+    }
+
+    private NewUser toNewUser(Pending pending) {
+        ProvisionUserEntry entry = pending.entry;
+        String passwordHash;
+        if (entry.getPasswordHash() != null) {
+            passwordHash = entry.getPasswordHash();
+        } else if (entry.getPassword() != null) {
+            passwordHash = passwordEncoder.encode(entry.getPassword());
+        } else {
+            passwordHash = NO_PASSWORD_HASH;
+        }
+        return new NewUser(UUID.randomUUID(), pending.email, passwordHash, entry.getFullName().trim(),
+                entry.getRole() != null ? entry.getRole() : Role.USER,
+                entry.getIsActive() == null || entry.getIsActive());
+    }
+
+    private record Pending(int index, String email, ProvisionUserEntry entry) {
+    }
+
+    /** Progress of one job; written by the job thread, read by status requests */
+    private static class Job {
+
+        private final UUID id;
+        private final int total;
+        private final int maxErrors;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<EntryError> errors = new ArrayList<>();
+        private Status status = Status.QUEUED;
+        private int processed;
+        private int created;
+        private int duplicates;
+        private int rejected;
+        private String failure;
+        private LocalDateTime finishedAt;
+
+        Job(UUID id, int total, int maxErrors) {
+            this.id = id;
+            this.total = total;
+            this.maxErrors = maxErrors;
+        }
+
+        synchronized void start() {
+            status = Status.RUNNING;
+        }
+
+        synchronized void processed(int count) {
+            processed = count;
+        }
+
+        synchronized void created() {
+            created++;
+        }
+
+        synchronized void duplicate(int index, String email, String message) {
+            duplicates++;
+            addError(index, email, message);
+        }
+
+        synchronized void reject(int index, String email, String message) {
+            rejected++;
+            addError(index, email, message);
+        }
+
+        synchronized void finish(String failure) {
+            this.status = failure == null ? Status.COMPLETED : Status.FAILED;
+            this.failure = failure;
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        synchronized ProvisioningJobResponse snapshot() {
+            return ProvisioningJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .total(total)
+                    .processed(processed)
+                    .created(created)
+                    .duplicates(duplicates)
+                    .rejected(rejected)
+                    .errors(List.copyOf(errors))
+                    .failure(failure)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+
+        private void addError(int index, String email, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new EntryError(index, email, message));
+            }
+        }
+    }
+}
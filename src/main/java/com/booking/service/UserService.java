@@ -1,11 +1,16 @@
 package com.booking.service;
 
+import com.booking.config.ClusterChangeBus;
+import com.booking.config.ClusterChangeBus.Topic;
+import com.booking.dto.user.AdminUpdateUserRequest;
 import com.booking.dto.user.UpdateUserRequest;
 import com.booking.dto.user.UserResponse;
 import com.booking.entity.User;
 import com.booking.exception.ResourceNotFoundException;
 import com.booking.repository.UserRepository;
+import com.booking.security.TokenVersionRegistry;
 import com.booking.security.UserPrincipal;
+import com.booking.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -18,6 +23,9 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ClusterChangeBus changeBus;
 
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
@@ -38,6 +46,38 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        principalCache.evict(userId);
+        changeBus.publish(Topic.USERS, userId);
+        return mapToUserResponse(savedUser);
+    }
+
+    /**
+     * Change a user's role or active flag (ADMIN only).
+     * Either change bumps the token version, which revokes the user's self-contained tokens.
+     */
+    @Transactional
+    public UserResponse updateUser(UUID userId, AdminUpdateUserRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+
+        boolean changed = false;
+        if (request.getRole() != null && request.getRole() != user.getRole()) {
+            user.setRole(request.getRole());
+            changed = true;
+        }
+        if (request.getIsActive() != null && !request.getIsActive().equals(user.getIsActive())) {
+            user.setIsActive(request.getIsActive());
+            changed = true;
+        }
+
+        if (changed) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            tokenVersionRegistry.revoke(userId, user.getTokenVersion());
+        }
+
+        User savedUser = userRepository.save(user);
+        principalCache.evict(userId);
+        changeBus.publish(Topic.USERS, userId);
         return mapToUserResponse(savedUser);
     }
 
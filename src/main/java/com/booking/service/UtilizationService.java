@@ -0,0 +1,296 @@
+package com.booking.service;
+
+import com.booking.dto.analytics.UtilizationBackfillResponse;
+import com.booking.dto.analytics.UtilizationGrouping;
+import com.booking.dto.analytics.UtilizationResponse;
+import com.booking.dto.analytics.UtilizationRow;
+import com.booking.entity.Booking;
+import com.booking.exception.ApiException;
+import com.booking.repository.UtilizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resource utilization from the daily rollups.
+ * <p>
+ * Booking creates and cancels adjust the rollups right after their transaction commits, in a short transaction
+ * of their own, so the rollup rows never become a lock hot spot inside the booking transaction. An adjustment
+ * lost to a crash or a database error is repaired by {@link #backfill}, which rebuilds a date range from the
+ * bookings in parallel chunks.
+ */
+@Slf4j
+@Service
+public class UtilizationService {
+
+    private final UtilizationRepository utilizationRepository;
+    private final TransactionTemplate rollupTransaction;
+
+    @Value("${app.analytics.utilization.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.analytics.utilization.available-hours-per-day:10}")
+    private int availableHoursPerDay;
+
+    @Value("${app.analytics.utilization.max-range-days:366}")
+    private int maxRangeDays;
+
+    @Value("${app.analytics.utilization.backfill.chunk-days:7}")
+    private int chunkDays;
+
+    @Value("${app.analytics.utilization.backfill.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.booking.max-duration-hours:8}")
+    private int maxDurationHours;
+
+    public UtilizationService(UtilizationRepository utilizationRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.utilizationRepository = utilizationRepository;
+        this.rollupTransaction = new TransactionTemplate(transactionManager);
+        this.rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordCreated(Booking booking) {
+        recordAfterCommit(booking, 1);
+    }
+
+    public void recordCanceled(Booking booking) {
+        recordAfterCommit(booking, -1);
+    }
+
+    /**
+     * Like {@link #recordCanceled(Booking)} for many bookings at once: the adjustments are summed per resource
+     * and day and applied after commit in one transaction.
+     */
+    public void recordCanceled(Collection<Slot> slots) {
+        if (!enabled || slots.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<LocalDate, int[]>> totals = new HashMap<>();
+        for (Slot slot : slots) {
+            Map<LocalDate, int[]> days = totals.computeIfAbsent(slot.resourceId(), id -> new HashMap<>());
+            minutesPerDay(slot.startAt(), slot.endAt()).forEach((day, minutes) -> {
+                int[] dayTotals = days.computeIfAbsent(day, d -> new int[2]);
+                dayTotals[0] -= minutes;
+                dayTotals[1] -= 1;
+            });
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyTotals(totals);
+                }
+            });
+        } else {
+            applyTotals(totals);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public UtilizationResponse getUtilization(LocalDate from, LocalDate to, UtilizationGrouping groupBy,
+                                              String location) {
+        validateRange(from, to);
+        LocalDate end = to.plusDays(1);
+        long days = ChronoUnit.DAYS.between(from, end);
+        int minutesPerDay = availableHoursPerDay * 60;
+
+        List<UtilizationRow> rows = new ArrayList<>();
+        switch (groupBy) {
+            case RESOURCE -> utilizationRepository.totalsByResource(from, end, location)
+                    .forEach(t -> rows.add(toRow(t, t.resources() * days * minutesPerDay)));
+            case LOCATION -> utilizationRepository.totalsByLocation(from, end, location)
+                    .forEach(t -> rows.add(toRow(t, t.resources() * days * minutesPerDay)));
+            case DAY -> {
+                int resources = utilizationRepository.countActiveResources(location);
+                Map<String, UtilizationRepository.Totals> byDay = new LinkedHashMap<>();
+                utilizationRepository.totalsByDay(from, end, location).forEach(t -> byDay.put(t.key(), t));
+                // Every day of the range, including the ones without bookings
+                for (LocalDate day = from; day.isBefore(end); day = day.plusDays(1)) {
+                    String key = day.toString();
+                    UtilizationRepository.Totals totals = byDay.get(key);
+                    rows.add(toRow(new UtilizationRepository.Totals(key, null, resources,
+                                    totals != null ? totals.bookedMinutes() : 0,
+                                    totals != null ? totals.bookingCount() : 0),
+                            (long) resources * minutesPerDay));
+                }
+            }
+        }
+
+        return UtilizationResponse.builder()
+                .from(from)
+                .to(to)
+                .groupBy(groupBy)
+                .location(location)
+                .availableMinutesPerDay(minutesPerDay)
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Rebuild the rollups of [from, to] from live and archived bookings, {@code chunk-days} days per
+     * transaction and {@code parallelism} chunks at a time. Adjustments committed while a chunk is being
+     * rebuilt can be counted twice, so run it when few bookings are being made.
+     */
+    public UtilizationBackfillResponse backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        long started = System.nanoTime();
+        int maxBookingDays = Math.max(1, (maxDurationHours + 23) / 24);
+
+        List<Future<Integer>> chunks = new ArrayList<>();
+        long rows = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            for (LocalDate chunkFrom = from; !chunkFrom.isAfter(to); chunkFrom = chunkFrom.plusDays(chunkDays)) {
+                LocalDate chunkStart = chunkFrom;
+                LocalDate chunkEnd = min(chunkFrom.plusDays(chunkDays), to.plusDays(1));
+                chunks.add(executor.submit(() -> rollupTransaction.execute(status ->
+                        utilizationRepository.rebuild(chunkStart, chunkEnd, maxBookingDays))));
+            }
+            for (Future<Integer> chunk : chunks) {
+                Integer chunkRows = chunk.get();
+                rows += chunkRows != null ? chunkRows : 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Utilization backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Utilization backfill failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Rebuilt utilization rollups {} to {}: {} rows in {} chunks, {} ms", from, to, rows, chunks.size(),
+                durationMs);
+        return UtilizationBackfillResponse.builder()
+                .from(from)
+                .to(to)
+                .chunks(chunks.size())
+                .rows(rows)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Minutes of [start, end) falling on each calendar day, rounded down like the backfill query
+     */
+    static Map<LocalDate, Integer> minutesPerDay(LocalDateTime start, LocalDateTime end) {
+        Map<LocalDate, Integer> minutes = new LinkedHashMap<>();
+        for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+            LocalDateTime sliceStart = max(start, day.atStartOfDay());
+            LocalDateTime sliceEnd = min(end, day.plusDays(1).atStartOfDay());
+            minutes.put(day, (int) Duration.between(sliceStart, sliceEnd).toMinutes());
+        }
+        return minutes;
+    }
+
+    private void recordAfterCommit(Booking booking, int sign) {
+        if (!enabled) {
+            return;
+        }
+        Long resourceId = booking.getResource().getId();
+        Map<LocalDate, Integer> minutes = minutesPerDay(booking.getStartAt(), booking.getEndAt());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(resourceId, minutes, sign);
+                }
+            });
+        } else {
+            apply(resourceId, minutes, sign);
+        }
+    }
+
+    private void apply(Long resourceId, Map<LocalDate, Integer> minutes, int sign) {
+        try {
+            try {
+                applyOnce(resourceId, minutes, sign);
+            } catch (DuplicateKeyException e) {
+                // A concurrent booking created the row first; it exists now, so the retry updates it
+                applyOnce(resourceId, minutes, sign);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not update utilization rollups for resource {}, rebuild them with the backfill: {}",
+                    resourceId, e.getMessage());
+        }
+    }
+
+    private void applyTotals(Map<Long, Map<LocalDate, int[]>> totals) {
+        try {
+            // The rows of bookings being canceled exist already, so no insert can race here
+            rollupTransaction.executeWithoutResult(status -> totals.forEach((resourceId, days) ->
+                    days.forEach((day, dayTotals) ->
+                            utilizationRepository.add(resourceId, day, dayTotals[0], dayTotals[1]))));
+        } catch (DataAccessException e) {
+            log.warn("Could not update utilization rollups for {} resources, rebuild them with the backfill: {}",
+                    totals.size(), e.getMessage());
+        }
+    }
+
+    private void applyOnce(Long resourceId, Map<LocalDate, Integer> minutes, int sign) {
+        rollupTransaction.executeWithoutResult(status -> minutes.forEach((day, dayMinutes) ->
+                utilizationRepository.add(resourceId, day, sign * dayMinutes, sign)));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "'from' must be on or before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Date range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private static UtilizationRow toRow(UtilizationRepository.Totals totals, long availableMinutes) {
+        double occupancy = availableMinutes > 0
+                ? Math.round(totals.bookedMinutes() * 1000.0 / availableMinutes) / 10.0
+                : 0;
+        return UtilizationRow.builder()
+                .key(totals.key())
+                .label(totals.label())
+                .resources(totals.resources())
+                .bookingCount(totals.bookingCount())
+                .bookedMinutes(totals.bookedMinutes())
+                .availableMinutes(availableMinutes)
+                .occupancyPercent(occupancy)
+                .build();
+    }
+
+    /** The part of a booking the rollups need */
+    public record Slot(Long resourceId, LocalDateTime startAt, LocalDateTime endAt) {
+    }
+
+    private static <T extends Comparable<? super T>> T min(T a, T b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static <T extends Comparable<? super T>> T max(T a, T b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
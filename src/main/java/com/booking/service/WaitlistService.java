@@ -0,0 +1,139 @@
+package com.booking.service;
+
+import com.booking.dto.booking.CreateBookingRequest;
+import com.booking.dto.booking.WaitlistEntryResponse;
+import com.booking.entity.Resource;
+import com.booking.entity.Role;
+import com.booking.exception.BookingValidationException;
+import com.booking.exception.DuplicateResourceException;
+import com.booking.exception.ForbiddenException;
+import com.booking.exception.ResourceNotFoundException;
+import com.booking.repository.BookingRepository;
+import com.booking.repository.ResourceRepository;
+import com.booking.repository.WaitlistRepository;
+import com.booking.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Waitlist for fully booked slots. Entries are turned into bookings by {@link BookingService} when a booking
+ * overlapping them is canceled.
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final BookingService bookingService;
+
+    @Value("${app.booking.max-duration-hours:8}")
+    private int maxDurationHours;
+
+    @Value("${app.booking.waitlist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.waitlist.max-entries-per-user:10}")
+    private int maxEntriesPerUser;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           BookingRepository bookingRepository,
+                           ResourceRepository resourceRepository,
+                           BookingService bookingService) {
+        this.waitlistRepository = waitlistRepository;
+        this.bookingRepository = bookingRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Queue a request for a slot that is taken; free slots should be booked directly
+     */
+    @Transactional
+    public WaitlistEntryResponse join(CreateBookingRequest request, UserPrincipal principal) {
+        if (!enabled) {
+            throw new BookingValidationException("The waitlist is disabled");
+        }
+        bookingService.validateBookingTime(request.getStartAt(), request.getEndAt());
+
+        Resource resource = resourceRepository.findById(request.getResourceId())
+                .filter(Resource::getIsActive)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource", request.getResourceId()));
+
+        if (!bookingRepository.existsOverlappingBooking(
+                request.getResourceId(),
+                request.getStartAt(),
+                request.getEndAt(),
+                request.getStartAt().minusHours(maxDurationHours))) {
+            throw new BookingValidationException("The requested time slot is free, book it instead");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (waitlistRepository.countByUser(principal.getId(), now) >= maxEntriesPerUser) {
+            throw new BookingValidationException(
+                    "A user can wait for at most " + maxEntriesPerUser + " slots at a time");
+        }
+
+        Long id;
+        try {
+            id = waitlistRepository.insert(resource.getId(), principal.getId(), request.getStartAt(),
+                    request.getEndAt(), request.getDescription(), now);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("You are already on the waitlist for this slot");
+        }
+        log.info("User {} joined the waitlist for resource {} at {} - {}",
+                principal.getEmail(), resource.getId(), request.getStartAt(), request.getEndAt());
+
+        return waitlistRepository.findByUser(principal.getId(), maxDurationHours, now).stream()
+                .filter(entry -> entry.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", id));
+    }
+
+    /**
+     * Entries of the current user that have not started, with the number of earlier overlapping entries ahead of each
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getMyEntries(UserPrincipal principal) {
+        return waitlistRepository.findByUser(principal.getId(), maxDurationHours, LocalDateTime.now());
+    }
+
+    /**
+     * Delete entries whose slot has started; they can no longer be promoted and are already left out of listings
+     * and the per-user limit
+     */
+    @Scheduled(cron = "${app.booking.waitlist.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        try {
+            int purged = waitlistRepository.purgeExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Purged {} expired waitlist entries", purged);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired waitlist entries: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Leave the waitlist (owner or ADMIN)
+     */
+    @Transactional
+    public void withdraw(Long id, UserPrincipal principal) {
+        if (waitlistRepository.delete(id, principal.getId(), principal.getRole() == Role.ADMIN)) {
+            return;
+        }
+        if (waitlistRepository.exists(id)) {
+            throw new ForbiddenException("You don't have permission to remove this waitlist entry");
+        }
+        throw new ResourceNotFoundException("Waitlist entry", id);
+    }
+}
@@ -0,0 +1,21 @@
+-- V10__create_waitlist_entries.sql
+-- Requests waiting for a booked slot to free up; promoted to bookings when an overlapping booking is canceled
+
+CREATE TABLE waitlist_entries (
+    id BIGSERIAL PRIMARY KEY,
+    resource_id BIGINT NOT NULL REFERENCES resources(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP NOT NULL,
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_waitlist_request UNIQUE (resource_id, user_id, start_at, end_at),
+    CONSTRAINT chk_waitlist_time CHECK (start_at < end_at)
+);
+
+-- Waiters overlapping a freed slot: a range on start_at, bounded below by the longest booking, within the resource
+CREATE INDEX idx_waitlist_resource_time ON waitlist_entries(resource_id, start_at, end_at);
+CREATE INDEX idx_waitlist_user ON waitlist_entries(user_id);
+
+COMMENT ON TABLE waitlist_entries IS 'Queued booking requests per resource, promoted first come first served on cancel';
@@ -0,0 +1,6 @@
+-- V11__add_booking_confirmation_required.sql
+-- Marks bookings made while confirmation was required, so the expiry sweep never releases bookings made before it
+
+ALTER TABLE bookings ADD COLUMN confirmation_required BOOLEAN NOT NULL DEFAULT FALSE;
+
+COMMENT ON COLUMN bookings.confirmation_required IS 'TRUE when the booking was created with app.booking.confirmation.enabled and expires unless confirmed';
@@ -0,0 +1,39 @@
+-- V12__lock_default_partition_before_move.sql
+-- create_booking_partitions (V6) moved rows out of bookings_default and only then attached the new partition.
+-- A booking inserted into bookings_default for that month in between made ATTACH fail its default-partition
+-- check, failing every maintenance run while traffic kept landing in the month. The default partition is now
+-- locked before the move, as ATTACH would lock it anyway; inserts falling into it wait until the commit.
+
+CREATE OR REPLACE FUNCTION create_booking_partitions(from_month DATE, to_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month);
+    month_end DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    -- Serialize concurrent callers, e.g. several application nodes starting at once
+    PERFORM pg_advisory_xact_lock(hashtext('create_booking_partitions'));
+
+    WHILE month_start <= to_month LOOP
+        month_end := month_start + INTERVAL '1 month';
+        partition_name := 'bookings_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            -- The lock ATTACH takes on the default partition, held from before the move until the commit
+            LOCK TABLE bookings_default IN ACCESS EXCLUSIVE MODE;
+            EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM bookings_default WHERE start_at >= %L AND start_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           month_start, month_end, partition_name);
+            EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,6 @@
+-- V5__add_user_token_version.sql
+-- Per-user token version for revoking self-contained access tokens
+
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.token_version IS 'Tokens carrying a lower token_version claim are rejected';
@@ -0,0 +1,81 @@
+-- V6__partition_bookings_by_month.sql
+-- Range-partition bookings by start_at, one partition per calendar month
+
+-- Creates the monthly partitions from from_month to to_month that do not exist yet.
+-- Rows already in bookings_default for a new month are moved into its partition before it is attached.
+CREATE OR REPLACE FUNCTION create_booking_partitions(from_month DATE, to_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month);
+    month_end DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    -- Serialize concurrent callers, e.g. several application nodes starting at once
+    PERFORM pg_advisory_xact_lock(hashtext('create_booking_partitions'));
+
+    WHILE month_start <= to_month LOOP
+        month_end := month_start + INTERVAL '1 month';
+        partition_name := 'bookings_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM bookings_default WHERE start_at >= %L AND start_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           month_start, month_end, partition_name);
+            EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL DEFAULT nextval('bookings_id_seq'),
+    resource_id BIGINT NOT NULL REFERENCES resources(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'CREATED',
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT chk_booking_time CHECK (start_at < end_at)
+) PARTITION BY RANGE (start_at);
+
+-- Catches bookings beyond the newest monthly partition until the maintenance job creates it
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+SELECT create_booking_partitions(
+        COALESCE((SELECT MIN(start_at) FROM bookings_unpartitioned), CURRENT_TIMESTAMP)::DATE,
+        (CURRENT_TIMESTAMP + INTERVAL '3 months')::DATE);
+
+INSERT INTO bookings (id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at)
+SELECT id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at
+FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+-- The partition key must be part of the primary key; id alone stays unique through the sequence
+ALTER TABLE bookings ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, start_at);
+
+-- Created on the parent after the copy, each partition gets its own (smaller) copy of every index
+CREATE INDEX idx_bookings_resource_time ON bookings(resource_id, start_at, end_at);
+CREATE INDEX idx_bookings_user ON bookings(user_id);
+CREATE INDEX idx_bookings_status ON bookings(status);
+CREATE INDEX idx_bookings_resource_status ON bookings(resource_id, status);
+
+ANALYZE bookings;
+
+COMMENT ON TABLE bookings IS 'Resource bookings with time slots, partitioned by month of start_at';
+COMMENT ON COLUMN bookings.status IS 'CREATED, CONFIRMED, CANCELED';
@@ -0,0 +1,30 @@
+-- V7__create_bookings_archive.sql
+-- Cold storage for bookings that ended before the archive horizon, plus a view over live and archived rows
+
+CREATE TABLE bookings_archive (
+    id BIGINT PRIMARY KEY,
+    resource_id BIGINT NOT NULL REFERENCES resources(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- History queries filter by date, optionally narrowed by resource or user
+CREATE INDEX idx_bookings_archive_start ON bookings_archive(start_at);
+CREATE INDEX idx_bookings_archive_resource_time ON bookings_archive(resource_id, start_at);
+CREATE INDEX idx_bookings_archive_user ON bookings_archive(user_id);
+
+CREATE VIEW booking_history AS
+SELECT id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at
+FROM bookings
+UNION ALL
+SELECT id, resource_id, user_id, start_at, end_at, status, description, created_at, updated_at
+FROM bookings_archive;
+
+COMMENT ON TABLE bookings_archive IS 'Bookings moved out of bookings once they ended before the archive horizon';
+COMMENT ON VIEW booking_history IS 'Live and archived bookings, for history queries reaching past the archive horizon';
@@ -0,0 +1,27 @@
+-- V8__create_resource_utilization_daily.sql
+-- Booked minutes per resource and calendar day, maintained by the booking create/cancel paths
+
+CREATE TABLE resource_utilization_daily (
+    resource_id BIGINT NOT NULL REFERENCES resources(id),
+    usage_date DATE NOT NULL,
+    booked_minutes INTEGER NOT NULL DEFAULT 0,
+    booking_count INTEGER NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (resource_id, usage_date)
+);
+
+-- Per-day and per-location reports scan by day across all resources
+CREATE INDEX idx_resource_utilization_date ON resource_utilization_daily(usage_date);
+
+-- Rollups for the existing bookings, live and archived
+INSERT INTO resource_utilization_daily (resource_id, usage_date, booked_minutes, booking_count)
+SELECT b.resource_id, d.day::DATE,
+       SUM(FLOOR(EXTRACT(EPOCH FROM LEAST(b.end_at, d.day + INTERVAL '1 day') - GREATEST(b.start_at, d.day)) / 60)),
+       COUNT(*)
+FROM booking_history b
+CROSS JOIN LATERAL generate_series(date_trunc('day', b.start_at), b.end_at - INTERVAL '1 microsecond',
+                                   INTERVAL '1 day') AS d(day)
+WHERE b.status <> 'CANCELED'
+GROUP BY b.resource_id, d.day;
+
+COMMENT ON TABLE resource_utilization_daily IS 'Booked minutes per resource and day; bookings spanning midnight count on each day';
@@ -0,0 +1,10 @@
+-- V9__add_booking_reminder_sent_at.sql
+-- Marks bookings whose starting-soon reminder went out, so each reminder is sent once across instances
+
+ALTER TABLE bookings ADD COLUMN reminder_sent_at TIMESTAMP;
+
+-- Reminder windows read upcoming bookings by start time; only the ones still waiting for a reminder
+CREATE INDEX idx_bookings_reminder_pending ON bookings(start_at)
+    WHERE reminder_sent_at IS NULL AND status <> 'CANCELED';
+
+COMMENT ON COLUMN bookings.reminder_sent_at IS 'When the BOOKING_STARTING_SOON event was published; NULL while pending';
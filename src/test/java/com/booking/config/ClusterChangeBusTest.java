@@ -0,0 +1,65 @@
+package com.booking.config;
+
+import com.booking.config.ClusterChangeBus.Batch;
+import com.booking.config.ClusterChangeBus.Topic;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterChangeBusTest {
+
+    @Test
+    @DisplayName("Payloads round-trip and repeated keys are delivered once")
+    void roundTripCoalesces() {
+        Batch batch = new Batch();
+        for (String payload : ClusterChangeBus.encode("node-a", List.of("RESOURCES:1", "USERS:u1"))) {
+            ClusterChangeBus.decode(payload, "node-b", batch);
+        }
+        for (String payload : ClusterChangeBus.encode("node-c", List.of("RESOURCES:1", "RESOURCES:2"))) {
+            ClusterChangeBus.decode(payload, "node-b", batch);
+        }
+
+        assertThat(batch.keys().get(Topic.RESOURCES)).containsExactlyInAnyOrder("1", "2");
+        assertThat(batch.keys().get(Topic.USERS)).containsExactly("u1");
+    }
+
+    @Test
+    @DisplayName("A whole-topic change absorbs the keys before and after it")
+    void wholeTopicAbsorbsKeys() {
+        Batch batch = new Batch();
+        batch.add(Topic.RESOURCES, "1");
+        batch.add(Topic.RESOURCES, ClusterChangeBus.ALL);
+        batch.add(Topic.RESOURCES, "2");
+
+        assertThat(batch.keys().get(Topic.RESOURCES)).containsExactly(ClusterChangeBus.ALL);
+    }
+
+    @Test
+    @DisplayName("Own payloads and unknown topics are ignored")
+    void ignoresOwnAndUnknown() {
+        Batch batch = new Batch();
+        ClusterChangeBus.decode("node-a\nRESOURCES:1", "node-a", batch);
+        ClusterChangeBus.decode("node-b\nROOMS:1\nUSERS:u1", "node-a", batch);
+
+        assertThat(batch.keys()).containsOnlyKeys(Topic.USERS);
+    }
+
+    @Test
+    @DisplayName("Large change sets are split into payloads NOTIFY accepts")
+    void splitsLargeChangeSets() {
+        List<String> changes = IntStream.range(0, 2000).mapToObj(i -> "RESOURCES:" + (1_000_000 + i)).toList();
+
+        List<String> payloads = ClusterChangeBus.encode("node-a", changes);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allMatch(payload -> payload.length() <= ClusterChangeBus.MAX_PAYLOAD)
+                .allMatch(payload -> payload.startsWith("node-a\n"));
+        Batch batch = new Batch();
+        payloads.forEach(payload -> ClusterChangeBus.decode(payload, "node-b", batch));
+        assertThat(batch.keys().get(Topic.RESOURCES)).hasSize(2000);
+    }
+}
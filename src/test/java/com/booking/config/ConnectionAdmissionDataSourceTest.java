@@ -0,0 +1,81 @@
+package com.booking.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionAdmissionDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionAdmissionDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionAdmissionDataSource(pool, 2, 0, 50);
+    }
+
+    @Test
+    @DisplayName("Closing a connection returns its permit exactly once")
+    void closeReleasesPermitOnce() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Callers beyond the pool are rejected when nobody may wait")
+    void saturatedPoolRejects() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(ConnectionAdmissionDataSource.ConnectionAdmissionException.class);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Waiting caller times out when no connection is returned")
+    void waitingCallerTimesOut() throws SQLException {
+        dataSource = new ConnectionAdmissionDataSource(pool, 1, 10, 50);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(ConnectionAdmissionDataSource.ConnectionAdmissionException.class)
+                .hasMessageContaining("50 ms");
+    }
+
+    @Test
+    @DisplayName("Pool failure does not leak a permit")
+    void poolFailureReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+}
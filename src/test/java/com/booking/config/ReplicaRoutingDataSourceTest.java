@@ -0,0 +1,107 @@
+package com.booking.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private ReadYourWritesTracker readYourWrites;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWritesTracker(true, 60_000, 100);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions use the replica, read-write ones the primary")
+    void routesByTransactionReadOnlyFlag() throws Exception {
+        DataSource dataSource = routing("SELECT 0");
+
+        assertThat(databaseUsed(dataSource, true)).isEqualTo("ROUTING_REPLICA");
+        assertThat(databaseUsed(dataSource, false)).isEqualTo("ROUTING_PRIMARY");
+        assertThat(meterRegistry.get("db.routing").tag("target", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A user's reads stay on the primary after their write commits")
+    void readYourWritesAfterCommit() throws Exception {
+        DataSource dataSource = routing("SELECT 0");
+
+        readYourWrites.readAs("user-1", () -> {
+            assertThat(databaseUsed(dataSource, false)).isEqualTo("ROUTING_PRIMARY");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.clear();
+            return null;
+        });
+
+        assertThat(readYourWrites.readAs("user-1", () -> databaseUsed(dataSource, true))).isEqualTo("ROUTING_PRIMARY");
+        assertThat(readYourWrites.readAs("user-2", () -> databaseUsed(dataSource, true))).isEqualTo("ROUTING_REPLICA");
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary while the replica lags or is down")
+    void lagFallsBackToPrimary() throws Exception {
+        assertThat(databaseUsed(routing("SELECT 60000"), true)).isEqualTo("ROUTING_PRIMARY");
+        assertThat(databaseUsed(routing("SELECT broken"), true)).isEqualTo("ROUTING_PRIMARY");
+        assertThat(meterRegistry.get("db.routing").tag("reason", "replica_unavailable").counter().count())
+                .isEqualTo(2);
+    }
+
+    private DataSource routing(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, 5_000);
+        monitor.check();
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, replica, monitor, readYourWrites, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Mimics the transaction manager: the connection is requested before the transaction is marked
+     * read-only, the lazy proxy only picks a target at the first statement.
+     */
+    private String databaseUsed(DataSource dataSource, boolean readOnly) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.initSynchronization();
+            }
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT DATABASE()")) {
+                result.next();
+                return result.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.booking.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform threads against virtual threads for the shape of a booking write:
+ * a transaction holding a pooled connection, then a blocking RabbitMQ publish without one.
+ * One operation is a burst of {@code requests} concurrent requests; the score is the time to drain it.
+ * Database and broker latency are simulated with sleeps on an in-memory H2 pool of 10 connections,
+ * so the numbers compare scheduling models, not Postgres.
+ * <p>
+ * {@code platform} is Tomcat's default of 200 worker threads; {@code virtual} is one virtual thread
+ * per request, with and without {@link ConnectionAdmissionDataSource}.
+ * Rejected requests (admission guard) are printed per iteration.
+ * <p>
+ * This is a simulation only: no controller, service or real query runs. To compare the threading models on
+ * the actual endpoints, run {@code LoadTestHarness} once as is and once with virtual threads on.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="ThreadingModelBenchmark"
+ * ./mvnw -Pload-test -DskipTests test -Dload.args="spring.threads.virtual.enabled=true"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadingModelBenchmark {
+
+    private static final int POOL_SIZE = 10;
+
+    @Param({"platform", "virtual", "virtual-guarded"})
+    private String mode;
+
+    @Param({"2000"})
+    private int requests;
+
+    /** Time a request holds its connection (queries + commit round trips) */
+    @Param({"1"})
+    private long dbMillis;
+
+    /** Time a request blocks without a connection (broker publish, remote calls) */
+    @Param({"50"})
+    private long ioMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+    private AtomicInteger rejected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:threading;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(20_000);
+        pool = new HikariDataSource(config);
+        dataSource = mode.equals("virtual-guarded")
+                ? new ConnectionAdmissionDataSource(pool, POOL_SIZE, 200, 2_000)
+                : pool;
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(200)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        rejected = new AtomicInteger();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (rejected.get() > 0) {
+            System.out.println("rejected: " + rejected.getAndSet(0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(this::handleRequest));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+
+    private int handleRequest() throws Exception {
+        int result;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT 1")) {
+            rs.next();
+            result = rs.getInt(1);
+            Thread.sleep(dbMillis);
+        } catch (ConnectionAdmissionDataSource.ConnectionAdmissionException e) {
+            rejected.incrementAndGet();
+            return 0;
+        }
+        Thread.sleep(ioMillis);
+        return result;
+    }
+}
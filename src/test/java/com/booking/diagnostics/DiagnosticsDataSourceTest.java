@@ -0,0 +1,91 @@
+package com.booking.diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiagnosticsDataSourceTest {
+
+    private QueryDiagnostics diagnostics;
+    private DiagnosticsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        diagnostics = new QueryDiagnostics(0, 3, 2);
+        dataSource = new DiagnosticsDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:diagnostics;DB_CLOSE_DELAY=-1", "sa", ""), diagnostics);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS users (id INT PRIMARY KEY, email VARCHAR(100))");
+            statement.execute("DELETE FROM users");
+        }
+        diagnostics.reset();
+    }
+
+    @Test
+    @DisplayName("Slow statements keep the SQL with literals redacted and the calling method")
+    void capturesRedactedStatementWithOrigin() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users VALUES (42, 'secret@test.com')");
+        }
+
+        QueryDiagnostics.SlowStatement slow = diagnostics.slowStatements().get(0);
+        assertThat(slow.sql()).isEqualTo("INSERT INTO users VALUES (?, ?)");
+        assertThat(slow.origin()).startsWith("DiagnosticsDataSourceTest.capturesRedactedStatementWithOrigin:");
+        assertThat(slow.request()).isNull();
+    }
+
+    @Test
+    @DisplayName("Prepared statements are recorded with their placeholders, never the bound values")
+    void preparedStatementKeepsPlaceholders() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM users WHERE email = ?")) {
+            statement.setString(1, "secret@test.com");
+            statement.executeQuery().close();
+            assertThat(statement.getConnection()).isSameAs(connection);
+        }
+
+        assertThat(diagnostics.slowStatements())
+                .extracting(QueryDiagnostics.SlowStatement::sql)
+                .containsExactly("SELECT * FROM users WHERE email = ?");
+    }
+
+    @Test
+    @DisplayName("Statements are counted per request and heavy requests are kept")
+    void countsStatementsPerRequest() throws Exception {
+        diagnostics.beginRequest("GET /api/v1/bookings/7");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 3; i++) {
+                statement.executeQuery("SELECT 1").close();
+            }
+        }
+        int statements = diagnostics.endRequest("GET /api/v1/bookings/{id}", 1_000_000);
+
+        assertThat(statements).isEqualTo(3);
+        assertThat(diagnostics.heavyRequests()).singleElement()
+                .satisfies(request -> {
+                    assertThat(request.route()).isEqualTo("GET /api/v1/bookings/{id}");
+                    assertThat(request.statements()).isEqualTo(3);
+                });
+        assertThat(diagnostics.slowStatements()).allSatisfy(slow ->
+                assertThat(slow.request()).isEqualTo("GET /api/v1/bookings/7"));
+    }
+
+    @Test
+    @DisplayName("Ring buffer keeps only the newest entries")
+    void ringBufferOverwritesOldest() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer.snapshot()).containsExactly(5, 4, 3);
+        assertThat(buffer.total()).isEqualTo(5);
+    }
+}
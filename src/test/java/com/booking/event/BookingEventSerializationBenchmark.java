@@ -0,0 +1,50 @@
+package com.booking.event;
+
+import com.booking.config.RabbitMQConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a {@link BookingEvent} into an AMQP message with the converter the
+ * {@code RabbitTemplate} is configured with, and of reading it back as a consumer would.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="BookingEventSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingEventSerializationBenchmark {
+
+    private MessageConverter converter;
+    private BookingEvent event;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        converter = new RabbitMQConfig().jsonMessageConverter();
+        LocalDateTime startAt = LocalDateTime.of(2030, 1, 15, 10, 0);
+        event = BookingEvent.created(42L, "user@example.com", "John Doe", "Meeting Room A",
+                startAt, startAt.plusHours(1));
+        message = converter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object fromMessage() {
+        return converter.fromMessage(message);
+    }
+}
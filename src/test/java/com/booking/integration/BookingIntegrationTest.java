@@ -9,6 +9,7 @@ import com.booking.entity.User;
 import com.booking.repository.BookingRepository;
 import com.booking.repository.ResourceRepository;
 import com.booking.repository.UserRepository;
+import com.booking.service.BookingArchiver;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -100,6 +102,12 @@ class BookingIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
     private static String userToken;
     private static String adminToken;
     private static Long resourceId;
@@ -459,4 +467,87 @@ class BookingIntegrationTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.status").value(403));
     }
+
+    @Test
+    @Order(10)
+    @DisplayName("Partitions: bookings beyond the newest partition move out of the default partition")
+    void bookingsMoveFromDefaultPartition() throws Exception {
+        LocalDateTime startAt = LocalDateTime.now().plusYears(2).withDayOfMonth(1).withHour(10)
+                .withMinute(0).withSecond(0).withNano(0);
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setResourceId(resourceId);
+        request.setStartAt(startAt);
+        request.setEndAt(startAt.plusHours(1));
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_default", Integer.class));
+
+        jdbcTemplate.queryForObject("SELECT create_booking_partitions(?, ?)", Integer.class,
+                startAt.toLocalDate(), startAt.toLocalDate());
+
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_default", Integer.class));
+        Assertions.assertEquals("bookings_" + startAt.format(DateTimeFormatter.ofPattern("yyyy_MM")),
+                jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM bookings", String.class));
+
+        // Conflict checks still see the moved booking
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Archive: old bookings move to the archive and appear only in history listings")
+    void archivesOldBookings() throws Exception {
+        LocalDateTime startAt = LocalDateTime.now().minusYears(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        jdbcTemplate.update("""
+                INSERT INTO bookings (resource_id, user_id, start_at, end_at, status)
+                SELECT ?, id, ?, ?, 'CREATED' FROM users WHERE email = 'user@integration.test'
+                """, resourceId, startAt, startAt.plusHours(1));
+
+        bookingArchiver.archive();
+
+        Assertions.assertEquals(0, bookingRepository.count());
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_archive", Integer.class));
+
+        mockMvc.perform(get("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+
+        mockMvc.perform(get("/api/v1/bookings")
+                        .param("dateFrom", startAt.minusDays(1).format(FORMATTER))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Archive: a month past the horizon is detached into the archive and dropped")
+    void archivesWholePartitions() {
+        LocalDateTime startAt = LocalDateTime.now().minusYears(1).withDayOfMonth(1).withHour(10)
+                .withMinute(0).withSecond(0).withNano(0);
+        String partition = "bookings_" + startAt.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        jdbcTemplate.queryForObject("SELECT create_booking_partitions(?, ?)", Integer.class,
+                startAt.toLocalDate(), startAt.toLocalDate());
+        jdbcTemplate.update("""
+                INSERT INTO bookings (resource_id, user_id, start_at, end_at, status)
+                SELECT ?, id, ?, ?, 'CREATED' FROM users WHERE email = 'user@integration.test'
+                """, resourceId, startAt, startAt.plusHours(1));
+        Integer archivedBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_archive", Integer.class);
+
+        bookingArchiver.archive();
+
+        Assertions.assertEquals(0, bookingRepository.count());
+        Assertions.assertEquals(archivedBefore + 1,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings_archive", Integer.class));
+        Assertions.assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, partition));
+    }
 }
@@ -0,0 +1,154 @@
+package com.booking.integration;
+
+import com.booking.BookingManagementSystemApplication;
+import com.booking.config.ClusterChangeBus;
+import com.booking.config.ClusterChangeBus.Topic;
+import com.booking.dto.resource.CreateResourceRequest;
+import com.booking.dto.resource.UpdateResourceRequest;
+import com.booking.dto.user.AdminUpdateUserRequest;
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import com.booking.repository.UserRepository;
+import com.booking.security.UserPrincipal;
+import com.booking.security.UserPrincipalCache;
+import com.booking.service.ResourceService;
+import com.booking.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Two application contexts in one JVM sharing a PostgreSQL database, standing in for two instances.
+ * The second-level cache is off here: its JCache manager would be shared by both contexts.
+ * Requires Docker; skipped otherwise.
+ */
+class ClusterChangeBusIntegrationTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final List<Set<String>> resourceChangesOnB = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("booking_test")
+                .withUsername("test")
+                .withPassword("test");
+        postgres.start();
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{nodeA, nodeB}) {
+            if (node != null) {
+                node.close();
+            }
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @BeforeEach
+    void waitForListeners() {
+        nodeB.getBean(ClusterChangeBus.class).subscribe(Topic.RESOURCES, resourceChangesOnB::add);
+        await(() -> nodeA.getBean(ClusterChangeBus.class).isListening()
+                && nodeB.getBean(ClusterChangeBus.class).isListening());
+    }
+
+    @Test
+    @DisplayName("A resource update on one node reaches the other after commit")
+    void resourceUpdateReachesOtherNode() {
+        Long id = nodeA.getBean(ResourceService.class).createResource(CreateResourceRequest.builder()
+                .name("Bus Room " + UUID.randomUUID()).location("Floor 2").capacity(4).build()).getId();
+
+        nodeA.getBean(ResourceService.class).updateResource(id, UpdateResourceRequest.builder()
+                .capacity(6).build());
+
+        await(() -> resourceChangesOnB.stream().anyMatch(keys -> keys != null && keys.contains(id.toString())));
+    }
+
+    @Test
+    @DisplayName("A user update on one node evicts the cached principal on the other")
+    void userUpdateEvictsPrincipalOnOtherNode() {
+        User user = nodeA.getBean(UserRepository.class).save(User.builder()
+                .email("bus-" + UUID.randomUUID() + "@test.com")
+                .passwordHash("hash")
+                .fullName("Bus User")
+                .role(Role.USER)
+                .build());
+        UserPrincipalCache principalsOnB = nodeB.getBean(UserPrincipalCache.class);
+        principalsOnB.get(user.getId(), id -> UserPrincipal.create(user));
+
+        nodeA.getBean(UserService.class).updateUser(user.getId(), AdminUpdateUserRequest.builder()
+                .role(Role.ADMIN).build());
+
+        UserPrincipal reloaded = UserPrincipal.create(user);
+        await(() -> principalsOnB.get(user.getId(), id -> reloaded) == reloaded);
+    }
+
+    @Test
+    @DisplayName("After losing its connection a node reconnects, treats everything as changed, and keeps receiving")
+    void reconnectsAfterConnectionLoss() {
+        JdbcTemplate jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+        jdbcTemplate.queryForList("""
+                SELECT pg_terminate_backend(pid) FROM pg_stat_activity
+                WHERE application_name = 'booking-change-bus'""");
+
+        await(() -> resourceChangesOnB.stream().anyMatch(Objects::isNull));
+        await(() -> nodeA.getBean(ClusterChangeBus.class).isListening()
+                && nodeB.getBean(ClusterChangeBus.class).isListening());
+
+        Long id = nodeA.getBean(ResourceService.class).createResource(CreateResourceRequest.builder()
+                .name("Bus Room " + UUID.randomUUID()).location("Floor 3").capacity(2).build()).getId();
+        await(() -> resourceChangesOnB.stream().anyMatch(keys -> keys != null && keys.contains(id.toString())));
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BookingManagementSystemApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--app.cache.change-bus.enabled=true",
+                        "--app.cache.change-bus.coalesce-ms=10",
+                        "--app.cache.change-bus.keepalive-ms=1000");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
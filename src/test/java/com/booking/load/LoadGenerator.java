@@ -0,0 +1,114 @@
+package com.booking.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop HTTP load at a fixed arrival rate.
+ * <p>
+ * Requests are issued on a schedule regardless of how fast earlier ones complete, each on its own virtual
+ * thread, and latency is measured from the scheduled start. A slow server therefore shows up as queueing
+ * latency instead of silently lowering the offered rate (coordinated omission).
+ */
+class LoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    LoadGenerator() {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Offer {@code rps} requests per second for the given duration and wait for all of them to finish.
+     *
+     * @param requestFactory builds the i-th request
+     * @param onResponse     sees every completed response, e.g. to remember created IDs
+     */
+    Result run(int rps, Duration duration, LongFunction<HttpRequest> requestFactory,
+               Consumer<HttpResponse<String>> onResponse) throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        LongAdder inFlight = new LongAdder();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long total = duration.toSeconds() * rps;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = requestFactory.apply(i);
+            inFlight.increment();
+            executor.execute(() -> {
+                try {
+                    HttpResponse<String> response = send(request);
+                    latency.recordValue(Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - scheduled) / 1_000));
+                    statuses.computeIfAbsent(response.statusCode(), s -> new LongAdder()).increment();
+                    onResponse.accept(response);
+                } catch (Exception e) {
+                    failures.increment();
+                } finally {
+                    inFlight.decrement();
+                }
+            });
+        }
+        while (inFlight.sum() > 0) {
+            Thread.sleep(10);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(total, elapsedNanos, latency, statusCounts, failures.sum());
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    record Result(long requests, long elapsedNanos, Histogram latency, Map<Integer, Long> statuses, long failures) {
+
+        double throughput() {
+            return latency.getTotalCount() / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1_000.0;
+        }
+
+        double maxMillis() {
+            return latency.getMaxValue() / 1_000.0;
+        }
+    }
+}
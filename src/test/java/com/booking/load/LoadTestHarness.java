@@ -0,0 +1,334 @@
+package com.booking.load;
+
+import com.booking.BookingManagementSystemApplication;
+import com.booking.entity.Role;
+import com.booking.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * End-to-end booking throughput and latency over real HTTP.
+ * <p>
+ * Boots the application on the {@code test} profile (in-memory H2 in PostgreSQL mode, event publishing off),
+ * registers users, seeds resources and then drives each scenario at a fixed arrival rate. For every scenario it
+ * prints throughput, p50/p99/p99.9 latency, the status code mix and the JDBC statements per request.
+ *
+ * <pre>
+ * ./mvnw -Pload-test -DskipTests test -Dload.args="rps=200 duration=20"
+ * ./mvnw -Pload-test -DskipTests test -Dload.args="scenarios=mixed spring.threads.virtual.enabled=true"
+ * </pre>
+ * Harness options: {@code rps}, {@code duration} and {@code warmup} (seconds), {@code users}, {@code resources}
+ * and {@code scenarios} (any of create, conflict, list, cancel, mixed). Any other {@code key=value} argument
+ * containing a dot is passed to the application as a property.
+ */
+public class LoadTestHarness {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final List<String> ALL_SCENARIOS = List.of("create", "conflict", "list", "cancel", "mixed");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadGenerator generator = new LoadGenerator();
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final Statistics statistics;
+    private final UserRepository userRepository;
+
+    private final List<String> userTokens = new ArrayList<>();
+    private final List<Long> resourceIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Created> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong slotSequence = new AtomicLong();
+    private final LocalDateTime firstSlot = LocalDate.now().plusDays(2).atStartOfDay();
+
+    private record Created(String token, long id) {
+    }
+
+    LoadTestHarness(Map<String, String> options, ConfigurableApplicationContext context) {
+        this.options = options;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port;
+        this.statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        this.userRepository = context.getBean(UserRepository.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> properties = defaultProperties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, eq);
+            if (key.contains(".")) {
+                properties.put(key, arg.substring(eq + 1));
+            } else {
+                options.put(key, arg.substring(eq + 1));
+            }
+        }
+
+        // Passed as command-line arguments so they win over application.yml, unlike builder defaults
+        String[] applicationArgs = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingManagementSystemApplication.class)
+                .profiles("test")
+                .initializers(LoadTestHarness::stubRabbitConnection)
+                .run(applicationArgs);
+        LoadTestHarness harness = new LoadTestHarness(options, context);
+        try {
+            harness.run();
+        } finally {
+            harness.generator.close();
+            context.close();
+        }
+    }
+
+    /**
+     * The test profile excludes Rabbit auto-configuration; publishing is disabled, so a connection factory that
+     * never connects is enough to satisfy the template.
+     */
+    private static void stubRabbitConnection(ConfigurableApplicationContext context) {
+        context.getBeanFactory().registerSingleton("rabbitConnectionFactory", new CachingConnectionFactory());
+    }
+
+    /**
+     * Overrides on top of the test profile, which otherwise expects a Testcontainers PostgreSQL: in-memory H2,
+     * a random port, quiet logs, statement statistics, no rate limiting and a cheap BCrypt cost so seeding is
+     * not dominated by hashing.
+     */
+    private static Map<String, String> defaultProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("app.booking.partitions.enabled", "false");
+        properties.put("app.booking.archive.enabled", "false");
+        properties.put("app.analytics.utilization.enabled", "false");
+        properties.put("app.booking.waitlist.enabled", "false");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        properties.put("app.reactive.url",
+                "r2dbc:h2:mem:///load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("app.reactive.username", "sa");
+        properties.put("app.reactive.password", "");
+        properties.put("app.rabbitmq.enabled", "false");
+        properties.put("app.rate-limit.enabled", "false");
+        properties.put("app.security.bcrypt-strength", "4");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.booking", "ERROR");
+        properties.put("spring.main.banner-mode", "off");
+        return properties;
+    }
+
+    void run() throws Exception {
+        int rps = intOption("rps", 200);
+        Duration duration = Duration.ofSeconds(intOption("duration", 20));
+        Duration warmup = Duration.ofSeconds(intOption("warmup", 5));
+        List<String> scenarios = List.of(options.getOrDefault("scenarios", String.join(",", ALL_SCENARIOS)).split(","));
+
+        seed(intOption("users", 50), intOption("resources", 20));
+        if (!warmup.isZero()) {
+            generator.run(rps, warmup, this::mixedRequest, this::remember);
+        }
+
+        System.out.printf("%n%-9s %8s %9s %8s %8s %8s %8s %9s  %s%n",
+                "scenario", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "stmts/req", "statuses");
+        for (String scenario : scenarios) {
+            LongFunction<HttpRequest> requests = switch (scenario.trim()) {
+                case "create" -> i -> createRequest(nextSlot(), token(i));
+                case "conflict" -> {
+                    long slot = nextSlot();
+                    yield i -> createRequest(slot, token(i));
+                }
+                case "list" -> this::listRequest;
+                case "cancel" -> this::cancelRequest;
+                case "mixed" -> this::mixedRequest;
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            };
+            if (scenario.trim().equals("cancel")) {
+                ensureCancellable(rps * duration.toSeconds());
+            }
+            statistics.clear();
+            LoadGenerator.Result result = generator.run(rps, duration, requests, this::remember);
+            report(scenario.trim(), result, statistics.getPrepareStatementCount());
+        }
+    }
+
+    // ----- seeding -----
+
+    private void seed(int users, int resources) throws Exception {
+        for (int i = 0; i < users; i++) {
+            String email = "load-user-" + i + "@test.com";
+            expect(201, post("/api/v1/auth/register", null,
+                    Map.of("email", email, "password", PASSWORD, "fullName", "Load User " + i)));
+            userTokens.add(login(email));
+        }
+
+        String adminEmail = "load-admin@test.com";
+        expect(201, post("/api/v1/auth/register", null,
+                Map.of("email", adminEmail, "password", PASSWORD, "fullName", "Load Admin")));
+        userRepository.findByEmail(adminEmail).ifPresent(admin -> {
+            admin.setRole(Role.ADMIN);
+            userRepository.save(admin);
+        });
+        String adminToken = login(adminEmail);
+
+        for (int i = 0; i < resources; i++) {
+            HttpResponse<String> response = expect(201, post("/api/v1/resources", adminToken,
+                    Map.of("name", "Load Room " + i, "location", "Floor " + (i % 5), "capacity", 10)));
+            resourceIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = expect(200, post("/api/v1/auth/login", null,
+                Map.of("email", email, "password", PASSWORD)));
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    /**
+     * Tops up the pool of active bookings so every cancel request has its own target.
+     */
+    private void ensureCancellable(long needed) throws Exception {
+        while (created.size() < needed) {
+            String token = token(created.size());
+            remember(generator.send(createRequest(nextSlot(), token)));
+        }
+    }
+
+    // ----- requests -----
+
+    private HttpRequest createRequest(long slot, String token) {
+        int resources = resourceIds.size();
+        LocalDateTime start = firstSlot.plusHours(slot / resources);
+        return post("/api/v1/bookings", token, Map.of(
+                "resourceId", resourceIds.get((int) (slot % resources)),
+                "startAt", start.format(TIME),
+                "endAt", start.plusHours(1).format(TIME)));
+    }
+
+    private HttpRequest listRequest(long i) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/bookings?page=0&size=20"))
+                .header("Authorization", "Bearer " + token(i))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest cancelRequest(long i) {
+        Created booking = created.poll();
+        if (booking == null) {
+            return listRequest(i);
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/bookings/" + booking.id() + "/cancel"))
+                .header("Authorization", "Bearer " + booking.token())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * Read-heavy mix: 40% list, 30% create, 15% conflicting create, 15% cancel.
+     */
+    private HttpRequest mixedRequest(long i) {
+        int bucket = (int) (i % 20);
+        if (bucket < 8) {
+            return listRequest(i);
+        }
+        if (bucket < 14) {
+            return createRequest(nextSlot(), token(i));
+        }
+        if (bucket < 17) {
+            return createRequest(0, token(i));
+        }
+        return cancelRequest(i);
+    }
+
+    private void remember(HttpResponse<String> response) {
+        if (response.statusCode() != 201 || !response.uri().getPath().equals("/api/v1/bookings")) {
+            return;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            String token = response.request().headers().firstValue("Authorization").orElseThrow().substring(7);
+            created.add(new Created(token, body.get("id").asLong()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable booking response", e);
+        }
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))).build();
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpResponse<String> expect(int status, HttpRequest request) throws Exception {
+        HttpResponse<String> response = generator.send(request);
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(request.method() + " " + request.uri().getPath() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private String token(long i) {
+        return userTokens.get((int) (i % userTokens.size()));
+    }
+
+    /**
+     * Slot 0 is reserved for the conflict scenarios, so every other slot is booked at most once.
+     */
+    private long nextSlot() {
+        return slotSequence.incrementAndGet() + resourceIds.size();
+    }
+
+    // ----- reporting -----
+
+    private void report(String scenario, LoadGenerator.Result result, long statements) {
+        long completed = result.latency().getTotalCount();
+        System.out.printf("%-9s %8d %9.1f %8.2f %8.2f %8.2f %8.2f %9.2f  %s%s%n",
+                scenario, result.requests(), result.throughput(),
+                result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                result.maxMillis(), completed == 0 ? 0.0 : (double) statements / completed,
+                result.statuses(), result.failures() == 0 ? "" : " failures=" + result.failures());
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
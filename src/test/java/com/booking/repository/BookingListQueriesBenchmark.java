@@ -0,0 +1,168 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.entity.Booking;
+import com.booking.entity.BookingStatus;
+import com.booking.entity.Resource;
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the booking list with every filter set, end to end: the former path (specification chain,
+ * kept here as it was, Criteria, Hibernate's translation, entity loading and mapping to responses in a
+ * fresh session) against
+ * {@link BookingListQueries} (precompiled SQL, positional binding, rows mapped straight to responses).
+ * Runs over 2000 bookings in an in-memory H2 schema generated from the entities.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="BookingListQueriesBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingListQueriesBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:booking_list_bench;DB_CLOSE_DELAY=-1";
+
+    private SessionFactory sessionFactory;
+    private BookingListQueries queries;
+    private BookingFilterRequest filter;
+    private UUID userId;
+    private PageRequest pageable;
+
+    @Setup
+    public void setUp() {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), URL, "sa", "");
+        // Native bootstrap ignores the jakarta.persistence.jdbc.* keys, and the hibernate.connection.* ones
+        // are deprecated, so both paths share one data source
+        DatasourceConnectionProviderImpl connections = new DatasourceConnectionProviderImpl();
+        connections.setDataSource(dataSource);
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.CONNECTION_PROVIDER, connections)
+                .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .applySetting(AvailableSettings.SHOW_SQL, "false")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Booking.class)
+                .addAnnotatedClass(Resource.class)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        sessionFactory.inTransaction(session -> {
+            User user = User.builder().email("bench@test.com").passwordHash("x").fullName("Bench User")
+                    .role(Role.USER).build();
+            session.persist(user);
+            userId = user.getId();
+            for (int r = 0; r < 4; r++) {
+                Resource resource = Resource.builder().name("Room " + r).capacity(4).build();
+                session.persist(resource);
+                for (int i = 0; i < 500; i++) {
+                    Booking booking = new Booking();
+                    booking.setResource(resource);
+                    booking.setUser(user);
+                    booking.setStartAt(start.plusHours(i));
+                    booking.setEndAt(start.plusHours(i).plusMinutes(30));
+                    booking.setStatus(i % 5 == 0 ? BookingStatus.CANCELED : BookingStatus.CREATED);
+                    session.persist(booking);
+                }
+            }
+        });
+
+        queries = new BookingListQueries(new JdbcTemplate(dataSource));
+        filter = new BookingFilterRequest();
+        filter.setResourceId(1L);
+        filter.setStatus(BookingStatus.CREATED);
+        filter.setDateFrom(start);
+        filter.setDateTo(start.plusDays(30));
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "startAt"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> criteria() {
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+            Root<Booking> root = query.from(Booking.class);
+            query.where(formerFilters(filter, userId).toPredicate(root, query, cb));
+            query.orderBy(cb.desc(root.get("startAt")));
+            return session.createQuery(query)
+                    .setFirstResult(0)
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList()
+                    .stream()
+                    .map(BookingListQueriesBenchmark::toResponse)
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> precompiled() {
+        return queries.findPage(filter, userId, false, pageable).getContent();
+    }
+
+    /** The specification chain BookingService used to build per request */
+    private static Specification<Booking> formerFilters(BookingFilterRequest filter, UUID userId) {
+        Specification<Booking> hasUserId = (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+        Specification<Booking> hasResourceId = (root, query, cb) ->
+                cb.equal(root.get("resource").get("id"), filter.getResourceId());
+        Specification<Booking> hasStatus = (root, query, cb) -> cb.equal(root.get("status"), filter.getStatus());
+        Specification<Booking> startsAfter = (root, query, cb) ->
+                cb.greaterThanOrEqualTo(root.get("startAt"), filter.getDateFrom());
+        Specification<Booking> endsBefore = (root, query, cb) -> cb.and(
+                cb.lessThan(root.get("startAt"), filter.getDateTo()),
+                cb.lessThanOrEqualTo(root.get("endAt"), filter.getDateTo()));
+        return Specification.where(hasUserId).and(hasResourceId).and(hasStatus).and(startsAfter).and(endsBefore);
+    }
+
+    /** As BookingService maps entities; the names come through the lazy associations */
+    private static BookingResponse toResponse(Booking booking) {
+        BookingResponse response = new BookingResponse();
+        response.setId(booking.getId());
+        response.setResourceId(booking.getResource().getId());
+        response.setResourceName(booking.getResource().getName());
+        response.setUserId(booking.getUser().getId());
+        response.setUserFullName(booking.getUser().getFullName());
+        response.setStartAt(booking.getStartAt());
+        response.setEndAt(booking.getEndAt());
+        response.setStatus(booking.getStatus());
+        response.setDescription(booking.getDescription());
+        response.setCreatedAt(booking.getCreatedAt());
+        return response;
+    }
+}
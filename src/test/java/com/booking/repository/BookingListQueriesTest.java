@@ -0,0 +1,156 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.entity.BookingStatus;
+import com.booking.exception.ApiException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingListQueriesTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final PageRequest BY_START_DESC = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "startAt"));
+
+    private static BookingListQueries queries;
+
+    @BeforeAll
+    static void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SimpleDriverDataSource(
+                new org.h2.Driver(), "jdbc:h2:mem:booking_list;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (id UUID PRIMARY KEY, full_name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE resources (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, resource_id BIGINT, user_id UUID,"
+                + " start_at TIMESTAMP, end_at TIMESTAMP, status VARCHAR(20), description VARCHAR(500), created_at TIMESTAMP,"
+                + " updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE bookings_archive AS SELECT * FROM bookings WITH NO DATA");
+        jdbcTemplate.execute("CREATE VIEW booking_history AS SELECT * FROM bookings UNION ALL SELECT * FROM bookings_archive");
+        jdbcTemplate.execute("INSERT INTO users VALUES ('" + ALICE + "', 'Alice'), ('" + BOB + "', 'Bob')");
+        jdbcTemplate.execute("INSERT INTO resources VALUES (1, 'Room A'), (2, 'Room B')");
+        jdbcTemplate.execute("INSERT INTO bookings VALUES"
+                + " (1, 1, '" + ALICE + "', '2030-01-01 10:00', '2030-01-01 11:00', 'CREATED', 'Review', NOW(),"
+                + " '2029-12-02 09:00'),"
+                + " (2, 2, '" + ALICE + "', '2030-01-02 10:00', '2030-01-02 11:00', 'CANCELED', 'Planning', NOW(),"
+                + " '2029-12-03 09:00'),"
+                + " (3, 1, '" + BOB + "', '2030-01-03 10:00', '2030-01-03 11:00', 'CREATED', 'Standup', NOW(),"
+                + " '2029-12-01 09:00')");
+        jdbcTemplate.execute("INSERT INTO bookings_archive VALUES"
+                + " (4, 1, '" + ALICE + "', '2020-01-01 10:00', '2020-01-01 11:00', 'CONFIRMED', NULL, NOW(), NOW())");
+        queries = new BookingListQueries(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Every filter combination has one placeholder per bound value")
+    void placeholdersMatchMask() {
+        for (int mask = 0; mask < BookingListQueries.COMBINATIONS; mask++) {
+            long placeholders = BookingListQueries.where(mask).chars().filter(c -> c == '?').count();
+            int expected = Integer.bitCount(mask) + ((mask & BookingListQueries.DATE_TO) != 0 ? 1 : 0);
+            assertThat(placeholders).as("mask %d", mask).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Bookings come back in the requested order with joined names")
+    void listsAllBookings() {
+        Page<BookingResponse> page = queries.findPage(new BookingFilterRequest(), null, false, BY_START_DESC);
+
+        assertThat(page.getContent()).extracting(BookingResponse::getId).containsExactly(3L, 2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        BookingResponse first = page.getContent().get(0);
+        assertThat(first.getResourceName()).isEqualTo("Room A");
+        assertThat(first.getUserFullName()).isEqualTo("Bob");
+        assertThat(first.getStatus()).isEqualTo(BookingStatus.CREATED);
+        assertThat(first.getDescription()).isEqualTo("Standup");
+        assertThat(first.getStartAt()).isEqualTo(LocalDateTime.of(2030, 1, 3, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Filters combine and bind in order")
+    void appliesFilters() {
+        BookingFilterRequest filter = new BookingFilterRequest();
+        filter.setResourceId(1L);
+        filter.setStatus(BookingStatus.CREATED);
+        filter.setDateTo(LocalDateTime.of(2030, 1, 2, 0, 0));
+
+        Page<BookingResponse> page = queries.findPage(filter, ALICE, false, BY_START_DESC);
+
+        assertThat(page.getContent()).extracting(BookingResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Pages are stable and report the total")
+    void pagesWithCount() {
+        Page<BookingResponse> page = queries.findPage(new BookingFilterRequest(), null, false,
+                PageRequest.of(1, 2, Sort.by("startAt")));
+
+        assertThat(page.getContent()).extracting(BookingResponse::getId).containsExactly(3L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("The history view includes archived bookings")
+    void includesArchive() {
+        BookingFilterRequest filter = new BookingFilterRequest();
+        filter.setDateFrom(LocalDateTime.of(2019, 1, 1, 0, 0));
+
+        Page<BookingResponse> page = queries.findPage(filter, ALICE, true, BY_START_DESC);
+
+        assertThat(page.getContent()).extracting(BookingResponse::getId).containsExactly(2L, 1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Sorts by updatedAt")
+    void sortsByUpdatedAt() {
+        assertThat(idsSortedBy("updatedAt")).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Sorts by description")
+    void sortsByDescription() {
+        assertThat(idsSortedBy("description")).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Sorts by resource name, under both property names")
+    void sortsByResourceName() {
+        assertThat(idsSortedBy("resourceName")).containsExactly(3L, 1L, 2L);
+        assertThat(idsSortedBy("resource.name")).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Sorts by user name, under both property names")
+    void sortsByUserFullName() {
+        assertThat(idsSortedBy("userFullName")).containsExactly(2L, 1L, 3L);
+        assertThat(idsSortedBy("user.fullName")).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Sorting by an unknown property is rejected")
+    void rejectsUnknownSort() {
+        assertThatThrownBy(() -> queries.findPage(new BookingFilterRequest(), null, false,
+                PageRequest.of(0, 20, Sort.by("passwordHash"))))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("passwordHash");
+    }
+
+    /** Ascending, ties broken by id descending */
+    private static List<Long> idsSortedBy(String property) {
+        return queries.findPage(new BookingFilterRequest(), null, false, PageRequest.of(0, 20, Sort.by(property)))
+                .getContent().stream().map(BookingResponse::getId).toList();
+    }
+}
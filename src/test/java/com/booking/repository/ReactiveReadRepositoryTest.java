@@ -0,0 +1,134 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.BookingFilterRequest;
+import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.resource.ResourceFilterRequest;
+import com.booking.dto.resource.ResourceResponse;
+import com.booking.entity.BookingStatus;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveReadRepositoryTest {
+
+    private static final String URL = "r2dbc:h2:mem:///reactive_read;DB_CLOSE_DELAY=-1";
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    private static ReactiveReadRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        execute(
+                "CREATE TABLE users (id UUID PRIMARY KEY, full_name VARCHAR(255))",
+                "CREATE TABLE resources (id BIGINT PRIMARY KEY, name VARCHAR(255), location VARCHAR(255), capacity INT,"
+                        + " description TEXT, is_active BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP)",
+                "CREATE TABLE bookings (id BIGINT PRIMARY KEY, resource_id BIGINT, user_id UUID, start_at TIMESTAMP,"
+                        + " end_at TIMESTAMP, status VARCHAR(20), description VARCHAR(500), created_at TIMESTAMP)",
+                "INSERT INTO users VALUES ('" + ALICE + "', 'Alice'), ('" + BOB + "', 'Bob')",
+                "INSERT INTO resources VALUES (1, 'Room A', 'Floor 1', 4, NULL, TRUE, NOW(), NOW()),"
+                        + " (2, 'Room B', 'Floor 2', 10, NULL, TRUE, NOW(), NOW()),"
+                        + " (3, 'Old Room', 'Floor 1', 6, NULL, FALSE, NOW(), NOW())",
+                "INSERT INTO bookings VALUES"
+                        + " (1, 1, '" + ALICE + "', '2030-01-01 10:00', '2030-01-01 11:00', 'CREATED', NULL, NOW()),"
+                        + " (2, 2, '" + ALICE + "', '2030-01-02 10:00', '2030-01-02 11:00', 'CANCELED', NULL, NOW()),"
+                        + " (3, 1, '" + BOB + "', '2030-01-03 10:00', '2030-01-03 11:00', 'CREATED', NULL, NOW())",
+                "CREATE TABLE bookings_archive AS SELECT * FROM bookings WHERE FALSE",
+                "INSERT INTO bookings_archive VALUES"
+                        + " (4, 2, '" + BOB + "', '2020-01-01 10:00', '2020-01-01 11:00', 'CREATED', NULL, NOW())",
+                "CREATE VIEW booking_history AS SELECT * FROM bookings UNION ALL SELECT * FROM bookings_archive");
+        repository = new ReactiveReadRepository(URL, "", "", 2, 2000, 16);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Bookings stream newest first with joined names")
+    void streamsAllBookings() {
+        List<BookingResponse> bookings = collect(repository.streamBookings(new BookingFilterRequest(), null, false, 100));
+
+        assertThat(bookings).extracting(BookingResponse::getId).containsExactly(3L, 2L, 1L);
+        assertThat(bookings.get(0).getResourceName()).isEqualTo("Room A");
+        assertThat(bookings.get(0).getUserFullName()).isEqualTo("Bob");
+        assertThat(bookings.get(1).getStatus()).isEqualTo(BookingStatus.CANCELED);
+    }
+
+    @Test
+    @DisplayName("Bookings are restricted to the user and filters")
+    void filtersBookings() {
+        BookingFilterRequest filter = new BookingFilterRequest();
+        filter.setStatus(BookingStatus.CREATED);
+
+        List<BookingResponse> bookings = collect(repository.streamBookings(filter, ALICE, false, 100));
+
+        assertThat(bookings).extracting(BookingResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Archived bookings are streamed only when the archive is included")
+    void includesArchive() {
+        BookingFilterRequest filter = new BookingFilterRequest();
+        filter.setDateFrom(LocalDateTime.parse("2019-01-01T00:00"));
+
+        assertThat(collect(repository.streamBookings(filter, BOB, true, 100)))
+                .extracting(BookingResponse::getId).containsExactly(3L, 4L);
+        assertThat(collect(repository.streamBookings(filter, BOB, false, 100)))
+                .extracting(BookingResponse::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Limit caps the stream")
+    void limitCapsStream() {
+        assertThat(collect(repository.streamBookings(new BookingFilterRequest(), null, false, 2))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Resources default to active ones, ordered by name")
+    void streamsActiveResources() {
+        List<ResourceResponse> resources = collect(repository.streamResources(new ResourceFilterRequest(), 100));
+
+        assertThat(resources).extracting(ResourceResponse::getName).containsExactly("Room A", "Room B");
+    }
+
+    @Test
+    @DisplayName("Resource filters combine")
+    void filtersResources() {
+        ResourceFilterRequest filter = ResourceFilterRequest.builder()
+                .location("floor 1")
+                .capacityMin(5)
+                .isActive(false)
+                .build();
+
+        assertThat(collect(repository.streamResources(filter, 100)))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Old Room");
+    }
+
+    private static <T> List<T> collect(Flux<T> flux) {
+        return flux.collectList().block();
+    }
+
+    private static void execute(String... statements) {
+        Flux.usingWhen(
+                Mono.from(ConnectionFactories.get(URL).create()),
+                connection -> Flux.fromArray(statements)
+                        .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                                .concatMap(result -> result.getRowsUpdated())),
+                Connection::close)
+                .blockLast();
+    }
+}
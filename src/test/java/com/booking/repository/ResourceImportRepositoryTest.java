@@ -0,0 +1,213 @@
+package com.booking.repository;
+
+import com.booking.repository.ResourceImportRepository.CopyStagingWriter;
+import com.booking.repository.ResourceImportRepository.MergeResult;
+import com.booking.repository.ResourceImportRepository.RowError;
+import com.booking.repository.ResourceImportRepository.StagedRow;
+import com.booking.repository.ResourceImportRepository.StagingWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResourceImportRepositoryTest {
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static ResourceImportRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:resource_import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE resources (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL,"
+                + " location VARCHAR(255), capacity INT NOT NULL, description TEXT, is_active BOOLEAN NOT NULL,"
+                + " created_at TIMESTAMP, updated_at TIMESTAMP)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new ResourceImportRepository(dataSource, jdbcTemplate);
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("DELETE FROM resources");
+    }
+
+    @Test
+    @DisplayName("Rows matching a resource by name and location update it, the others insert")
+    void insertsAndUpdates() {
+        jdbcTemplate.update("INSERT INTO resources (name, location, capacity, description, is_active)"
+                + " VALUES ('Room A', 'Floor 1', 4, 'Old', TRUE), ('Room B', NULL, 2, NULL, TRUE)");
+
+        MergeResult result = inTransaction(() -> {
+            stage(new StagedRow(1, "Room A", "Floor 1", 10, null, false, null),
+                    new StagedRow(2, "Room B", null, 6, "Corner", true, null),
+                    new StagedRow(3, "Room A", "Floor 2", 8, null, true, null));
+            return repository.validateAndMerge();
+        });
+
+        Long roomA = jdbcTemplate.queryForObject(
+                "SELECT id FROM resources WHERE name = 'Room A' AND location = 'Floor 1'", Long.class);
+        assertThat(result).isEqualTo(new MergeResult(1, 2, List.of(roomA)));
+        assertThat(jdbcTemplate.queryForList("SELECT name, location, capacity, description, is_active FROM resources"
+                + " ORDER BY name, location NULLS FIRST"))
+                .containsExactly(
+                        row("Room A", "Floor 1", 10, "Old", false),
+                        row("Room A", "Floor 2", 8, null, true),
+                        row("Room B", null, 6, "Corner", true));
+    }
+
+    @Test
+    @DisplayName("Invalid rows keep their first error and are not applied")
+    void rejectsInvalidRows() {
+        jdbcTemplate.update("INSERT INTO resources (name, location, capacity, is_active)"
+                + " VALUES ('Twin', 'Floor 1', 4, TRUE), ('Twin', 'Floor 1', 6, TRUE)");
+
+        List<RowError> errors = inTransaction(() -> {
+            stage(new StagedRow(1, " ", "Floor 1", 4, null, true, null),
+                    new StagedRow(2, "Room C", "Floor 1", 0, null, true, null),
+                    new StagedRow(3, "Room D", null, null, null, true, null),
+                    new StagedRow(4, "Room E", "Floor 1", 4, null, true, "Capacity must be a whole number"),
+                    new StagedRow(5, "Room F", null, 4, null, true, null),
+                    new StagedRow(6, "Room F", null, 5, null, true, null),
+                    new StagedRow(7, "Twin", "Floor 1", 8, null, true, null),
+                    new StagedRow(8, "x".repeat(256), null, 4, null, true, null));
+            MergeResult result = repository.validateAndMerge();
+            assertThat(result).isEqualTo(new MergeResult(1, 0));
+            assertThat(repository.countRejected()).isEqualTo(7);
+            assertThat(repository.findErrors(3)).extracting(RowError::row).containsExactly(1, 2, 3);
+            return repository.findErrors(100);
+        });
+
+        assertThat(errors).containsExactly(
+                new RowError(1, "Name is required"),
+                new RowError(2, "Capacity must be at least 1"),
+                new RowError(3, "Capacity is required"),
+                new RowError(4, "Capacity must be a whole number"),
+                new RowError(6, "Duplicate of an earlier row with the same name and location"),
+                new RowError(7, "Matches more than one existing resource"),
+                new RowError(8, "Name must not exceed 255 characters"));
+        assertThat(jdbcTemplate.queryForObject("SELECT capacity FROM resources WHERE name = 'Room F'", Integer.class))
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("A failure after staging rolls back every row of the import")
+    void failureRollsBack() {
+        assertThatThrownBy(() -> inTransaction(() -> {
+            stage(new StagedRow(1, "Room A", "Floor 1", 4, null, true, null));
+            repository.validateAndMerge();
+            throw new IllegalStateException("reading the rest of the file failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM resources", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("The COPY writer sends CSV where unquoted empty fields are NULL and quoted ones are text")
+    void copyWriterEncodesCsv() throws SQLException {
+        CopyIn copyIn = mock(CopyIn.class);
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.endCopy()).thenReturn(2L);
+
+        try (StagingWriter writer = new CopyStagingWriter(copyIn)) {
+            writer.write(new StagedRow(1, "Room \"A\", big", null, 10, "", true, null));
+            writer.write(new StagedRow(2, "Room B", "Floor 1", null, null, null, "Capacity is required"));
+            writer.finish();
+        }
+
+        assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                1,"Room ""A"", big",,10,"",true,
+                2,"Room B","Floor 1",,,,"Capacity is required"
+                """);
+        verify(copyIn, never()).cancelCopy();
+    }
+
+    @Test
+    @DisplayName("Closing an unfinished COPY cancels it; a failed write surfaces as an error")
+    void copyWriterCancelsUnfinished() throws SQLException {
+        CopyIn copyIn = mock(CopyIn.class);
+        when(copyIn.isActive()).thenReturn(true);
+        doThrow(new SQLException("connection reset")).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+
+        assertThatThrownBy(() -> {
+            try (StagingWriter writer = new CopyStagingWriter(copyIn)) {
+                writer.write(new StagedRow(1, "Room A", null, 4, null, true, null));
+                writer.finish();
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessageContaining("stream rows");
+
+        verify(copyIn).cancelCopy();
+    }
+
+    @Test
+    @DisplayName("Two thousand staged rows merge in one import")
+    void mergesManyRows() {
+        int rows = 2_000;
+        jdbcTemplate.update("INSERT INTO resources (name, location, capacity, is_active) VALUES ('Room 0', 'Floor 0', 1, TRUE)");
+
+        MergeResult result = inTransaction(() -> {
+            try (StagingWriter writer = repository.openStaging(500)) {
+                for (int i = 0; i < rows; i++) {
+                    writer.write(new StagedRow(i + 1, "Room " + i, "Floor " + i % 10, 1 + i % 20, null, true, null));
+                }
+                writer.finish();
+            }
+            return repository.validateAndMerge();
+        });
+        assertThat(result).isEqualTo(new MergeResult(rows - 1, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM resources", Integer.class)).isEqualTo(rows);
+    }
+
+    private static void stage(StagedRow... rows) {
+        try (StagingWriter writer = repository.openStaging(2)) {
+            for (StagedRow row : rows) {
+                writer.write(row);
+            }
+            writer.finish();
+        }
+    }
+
+    private static <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static Map<String, Object> row(String name, String location, int capacity, String description, boolean active) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("location", location);
+        row.put("capacity", capacity);
+        row.put("description", description);
+        row.put("is_active", active);
+        return row;
+    }
+}
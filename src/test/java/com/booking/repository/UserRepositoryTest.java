@@ -0,0 +1,42 @@
+package com.booking.repository;
+
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on H2 without the test-managed transaction, the way login and the user details service call the repository.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("findByEmail works outside a transaction")
+    void findByEmailOutsideTransaction() {
+        User saved = userRepository.save(User.builder()
+                .email("natural-id@test.com")
+                .passwordHash("hash")
+                .fullName("Natural Id")
+                .role(Role.USER)
+                .build());
+
+        assertThat(userRepository.findByEmail("natural-id@test.com"))
+                .get().extracting(User::getId).isEqualTo(saved.getId());
+        assertThat(userRepository.findByEmail("missing@test.com")).isEmpty();
+    }
+}
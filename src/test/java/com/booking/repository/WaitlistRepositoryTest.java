@@ -0,0 +1,77 @@
+package com.booking.repository;
+
+import com.booking.dto.booking.WaitlistEntryResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitlistRepositoryTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final UUID OTHER = UUID.randomUUID();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static WaitlistRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:waitlist;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE resources (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE waitlist_entries (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                + " resource_id BIGINT NOT NULL, user_id UUID NOT NULL, start_at TIMESTAMP NOT NULL,"
+                + " end_at TIMESTAMP NOT NULL, description VARCHAR(500), created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.update("INSERT INTO resources (id, name) VALUES (1, 'Room A')");
+        repository = new WaitlistRepository(jdbcTemplate, dataSource);
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("DELETE FROM waitlist_entries");
+    }
+
+    @Test
+    @DisplayName("Entries whose slot has started are neither listed, counted nor ahead of others")
+    void ignoresStartedEntries() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime created = now.minusDays(1);
+        repository.insert(1L, OTHER, now.minusHours(1), now.plusHours(1), null, created);
+        repository.insert(1L, USER, now.minusMinutes(30), now.plusMinutes(30), null, created.plusMinutes(1));
+        Long upcoming = repository.insert(1L, USER, now.plusMinutes(30), now.plusHours(2), null,
+                created.plusMinutes(2));
+
+        assertThat(repository.countByUser(USER, now)).isEqualTo(1);
+        assertThat(repository.findByUser(USER, 8, now))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.getId()).isEqualTo(upcoming);
+                    assertThat(entry.getResourceName()).isEqualTo("Room A");
+                    assertThat(entry.getAhead()).isZero();
+                });
+    }
+
+    @Test
+    @DisplayName("The purge deletes started entries and keeps the upcoming ones")
+    void purgesStartedEntries() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        repository.insert(1L, USER, now.minusHours(2), now.minusHours(1), null, now.minusDays(1));
+        repository.insert(1L, OTHER, now.minusMinutes(30), now.plusMinutes(30), null, now.minusDays(1));
+        repository.insert(1L, USER, now.plusHours(1), now.plusHours(2), null, now.minusDays(1));
+
+        assertThat(repository.purgeExpired(now)).isEqualTo(2);
+        assertThat(repository.findByUser(USER, 8, now)).extracting(WaitlistEntryResponse::getStartAt)
+                .containsExactly(now.plusHours(1));
+        assertThat(repository.countByUser(OTHER, now)).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.booking.security;
+
+import com.booking.config.ReadYourWritesTracker;
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import com.booking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserPrincipalCache principalCache;
+    private CustomUserDetailsService userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new UserPrincipalCache(100, 60, meterRegistry);
+        userDetailsService = new CustomUserDetailsService(userRepository, principalCache,
+                new ReadYourWritesTracker(false, 5_000, 100));
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@test.com");
+        user.setFullName("Test User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+    }
+
+    @Test
+    @DisplayName("Repeated lookups by ID hit the database once")
+    void repeatedLookupsAreCached() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        UserPrincipal first = userDetailsService.loadUserById(user.getId());
+        UserPrincipal second = userDetailsService.loadUserById(user.getId());
+
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findById(user.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Evicted principal is reloaded with the new role")
+    void evictionReloadsPrincipal() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        assertThat(userDetailsService.loadUserById(user.getId()).getRole()).isEqualTo(Role.USER);
+
+        user.setRole(Role.ADMIN);
+        principalCache.evict(user.getId());
+
+        assertThat(userDetailsService.loadUserById(user.getId()).getRole()).isEqualTo(Role.ADMIN);
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Unknown user is not cached")
+    void unknownUserThrows() {
+        UUID id = UUID.randomUUID();
+        when(userRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserById(id))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserById(id))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findById(id);
+    }
+}
@@ -0,0 +1,116 @@
+package com.booking.security;
+
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in {@link JwtAuthenticationFilter}.
+ * The principal lookup is stubbed so the numbers cover token handling only.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="JwtAuthenticationFilterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET =
+            "my-super-secret-jwt-key-for-booking-management-system-development-only-32-bytes-minimum-length-512-bits";
+
+    /**
+     * Verified-token cache size; 0 forces a signature check on every request.
+     */
+    @Param({"0", "10000"})
+    private long cacheMaxSize;
+
+    /**
+     * Self-contained tokens build the principal from claims instead of the principal lookup.
+     */
+    @Param({"false", "true"})
+    private boolean selfContained;
+
+    private JwtAuthenticationFilter filter;
+    private JwtTokenProvider tokenProvider;
+    private SecretKey key;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@test.com");
+        user.setPasswordHash("hash");
+        user.setFullName("Bench User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        UserPrincipal principal = UserPrincipal.create(user);
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null, null, null) {
+            @Override
+            public UserPrincipal loadUserById(UUID id) {
+                return principal;
+            }
+        };
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        tokenProvider = new JwtTokenProvider(SECRET, 3_600_000, cacheMaxSize, selfContained);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new TokenVersionRegistry(null),
+                new SimpleMeterRegistry());
+        token = selfContained
+                ? tokenProvider.generateSelfContainedToken(principal)
+                : tokenProvider.generateToken(user.getId(), user.getEmail());
+
+        request = new MockHttpServletRequest("GET", "/api/v1/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object resolveClaims() {
+        return tokenProvider.resolveClaims(token);
+    }
+
+    /**
+     * The pre-change path: a fresh parser and a full verification for validate, then again for the email.
+     */
+    @Benchmark
+    public Object legacyDoubleParse() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return claims.get("email", String.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.booking.security;
+
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenProvider} on its own: issuing tokens, a full parse and signature check, a verified-token
+ * cache hit, and building a principal from self-contained claims.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="JwtTokenProviderBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            "my-super-secret-jwt-key-for-booking-management-system-development-only-32-bytes-minimum-length-512-bits";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private UserPrincipal principal;
+    private String plainToken;
+    private String selfContainedToken;
+    private Claims selfContainedClaims;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@test.com");
+        user.setFullName("Bench User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        principal = UserPrincipal.create(user);
+
+        uncached = new JwtTokenProvider(SECRET, 3_600_000, 0, true);
+        cached = new JwtTokenProvider(SECRET, 3_600_000, 10_000, true);
+        plainToken = uncached.generateToken(user.getId(), user.getEmail());
+        selfContainedToken = uncached.generateSelfContainedToken(principal);
+        selfContainedClaims = cached.resolveClaims(selfContainedToken).orElseThrow();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(principal.getId(), principal.getEmail());
+    }
+
+    @Benchmark
+    public String generateSelfContainedToken() {
+        return uncached.generateSelfContainedToken(principal);
+    }
+
+    /** Parse and HMAC verification, every time */
+    @Benchmark
+    public Object parseAndVerify() {
+        return uncached.resolveClaims(plainToken);
+    }
+
+    /** Token hash and cache lookup */
+    @Benchmark
+    public Object cachedResolve() {
+        return cached.resolveClaims(plainToken);
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromClaims() {
+        return cached.getPrincipalFromClaims(selfContainedClaims);
+    }
+}
@@ -0,0 +1,116 @@
+package com.booking.security;
+
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "test-secret-key-for-jwt-token-provider-unit-tests-that-needs-to-be-at-least-512-bits-long-for-hs512";
+
+    @Test
+    @DisplayName("Valid token resolves to its claims and is served from cache afterwards")
+    void validTokenIsCached() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, false);
+        UUID userId = UUID.randomUUID();
+        String token = provider.generateToken(userId, "user@test.com");
+
+        Optional<Claims> first = provider.resolveClaims(token);
+        Optional<Claims> second = provider.resolveClaims(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getSubject()).isEqualTo(userId.toString());
+        assertThat(first.get().get("email", String.class)).isEqualTo("user@test.com");
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @Test
+    @DisplayName("Tampered token is rejected")
+    void tamperedTokenIsRejected() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, false);
+        String token = provider.generateToken(UUID.randomUUID(), "user@test.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(provider.resolveClaims(tampered)).isEmpty();
+        assertThat(provider.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Expired token is rejected")
+    void expiredTokenIsRejected() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, -1_000, 100, false);
+        String token = provider.generateToken(UUID.randomUUID(), "user@test.com");
+
+        assertThat(provider.resolveClaims(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Token from another key is rejected even with the cache disabled")
+    void foreignTokenIsRejected() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 0, false);
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('t', 'x'), 60_000, 0, false);
+        String token = other.generateToken(UUID.randomUUID(), "user@test.com");
+
+        assertThat(provider.resolveClaims(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Self-contained token round-trips the principal without a user lookup")
+    void selfContainedTokenCarriesPrincipal() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, true);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("admin@test.com");
+        user.setFullName("Admin User");
+        user.setRole(Role.ADMIN);
+        user.setIsActive(true);
+        user.setTokenVersion(3);
+
+        String token = provider.generateSelfContainedToken(UserPrincipal.create(user));
+        Claims claims = provider.resolveClaims(token).orElseThrow();
+        UserPrincipal principal = provider.getPrincipalFromClaims(claims);
+
+        assertThat(provider.isSelfContained(claims)).isTrue();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getEmail()).isEqualTo("admin@test.com");
+        assertThat(principal.getFullName()).isEqualTo("Admin User");
+        assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(principal.isEnabled()).isTrue();
+        assertThat(principal.getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Plain token is not treated as self-contained")
+    void plainTokenIsNotSelfContained() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, false);
+        String token = provider.generateToken(UUID.randomUUID(), "user@test.com");
+
+        assertThat(provider.isSelfContained(provider.resolveClaims(token).orElseThrow())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Self-contained token is not trusted once the mode is off")
+    void selfContainedTokenNeedsModeOn() {
+        JwtTokenProvider issuer = new JwtTokenProvider(SECRET, 60_000, 100, true);
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, false);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@test.com");
+        user.setFullName("Test User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setTokenVersion(0);
+
+        String token = issuer.generateSelfContainedToken(UserPrincipal.create(user));
+
+        assertThat(provider.isSelfContained(provider.resolveClaims(token).orElseThrow())).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package com.booking.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core at different BCrypt costs.
+ * Single-threaded, so the score is directly the throughput one core can sustain;
+ * multiply by {@code app.security.hashing.threads} for the login pool's ceiling.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="LoginThroughputBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginThroughputBenchmark {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Param({"10", "11", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        storedHash = encoder.encode(PASSWORD);
+    }
+
+    /**
+     * Password check done by every login.
+     */
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, storedHash);
+    }
+
+    /**
+     * Hash done by every registration (and by a login that upgrades an old hash).
+     */
+    @Benchmark
+    public String register() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,84 @@
+package com.booking.security;
+
+import com.booking.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Returns the task result")
+    void returnsResult() {
+        executor = new PasswordHashingExecutor(1, 1, 1_000, 1, new SimpleMeterRegistry());
+
+        assertThat(executor.execute(() -> "hash")).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("Rethrows task exceptions unchanged")
+    void rethrowsTaskException() {
+        executor = new PasswordHashingExecutor(1, 1, 1_000, 1, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new BadCredentialsException("bad");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Rejects with 429 when the pool and queue are full")
+    void rejectsWhenSaturated() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 10_000, 2, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture.runAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return await();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> executor.execute(this::await));
+        Thread.sleep(200);
+
+        assertThatThrownBy(() -> executor.execute(() -> "hash"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Gives up with 429 when the task does not finish in time")
+    void timesOut() {
+        executor = new PasswordHashingExecutor(1, 1, 100, 1, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> executor.execute(this::await))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private String await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
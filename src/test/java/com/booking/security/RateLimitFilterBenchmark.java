@@ -0,0 +1,77 @@
+package com.booking.security;
+
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the booking write rate limit.
+ * Limits are set high enough that every request is admitted, so the numbers cover the bucket lookup and CAS only.
+ * Run with {@code -t 4} to see behavior when threads contend on one user's bucket.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="RateLimitFilterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private RateLimitFilter filter;
+    private BookingRateLimiter rateLimiter;
+    private UsernamePasswordAuthenticationToken authentication;
+    private UUID userId;
+    private MockHttpServletRequest request;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new BookingRateLimiter(true, 1_000_000_000_000L, 60_000_000_000L,
+                1_000_000_000_000L, 60_000_000_000L, 100_000, new SimpleMeterRegistry());
+        filter = new RateLimitFilter(rateLimiter);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@test.com");
+        user.setFullName("Bench User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        UserPrincipal principal = UserPrincipal.create(user);
+        userId = principal.getId();
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public long userBucket() {
+        return rateLimiter.tryAcquireForUser(userId);
+    }
+
+    @Benchmark
+    public void resourceBucket() {
+        rateLimiter.checkResource(1L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.booking.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Full bucket allows a burst of its capacity, then rejects")
+    void burstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Tokens refill lazily with elapsed time")
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+        assertThat(bucket.tryAcquire(SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Long idle period does not accumulate more than capacity")
+    void idleDoesNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        long later = 100 * SECOND;
+
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never take more than capacity")
+    void concurrentAcquireRespectsCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, SECOND, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            pool.execute(() -> {
+                if (bucket.tryAcquire(0) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,134 @@
+package com.booking.service;
+
+import com.booking.config.ReadYourWritesTracker;
+import com.booking.dto.auth.AuthResponse;
+import com.booking.dto.auth.LoginRequest;
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import com.booking.repository.UserRepository;
+import com.booking.security.CustomUserDetailsService;
+import com.booking.security.JwtTokenProvider;
+import com.booking.security.PasswordHashingExecutor;
+import com.booking.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    private PasswordHashingExecutor hashingExecutor;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = new PasswordHashingExecutor(1, 4, 5_000, 1, new SimpleMeterRegistry());
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@test.com");
+        user.setFullName("Test User");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Login looks up and upgrades the user on the request thread, hashing on the pool")
+    void databaseWorkStaysOnRequestThread() {
+        Thread requestThread = Thread.currentThread();
+        AtomicReference<Thread> lookupThread = new AtomicReference<>();
+        AtomicReference<Thread> upgradeThread = new AtomicReference<>();
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread());
+            return UserPrincipal.create(user);
+        });
+        when(userDetailsService.updatePassword(any(), anyString())).thenAnswer(invocation -> {
+            upgradeThread.set(Thread.currentThread());
+            return invocation.getArgument(0);
+        });
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("token");
+
+        AuthResponse response = authService(5).login(login("USER@test.com", PASSWORD));
+
+        assertThat(response.getAccessToken()).isEqualTo("token");
+        assertThat(lookupThread.get()).isSameAs(requestThread);
+        assertThat(upgradeThread.get()).isSameAs(requestThread);
+        verify(userDetailsService).updatePassword(any(), argThat(hash -> hash.startsWith("$2a$05$")));
+    }
+
+    @Test
+    @DisplayName("A current hash is not rewritten")
+    void currentHashIsKept() {
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenReturn(UserPrincipal.create(user));
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("token");
+
+        authService(4).login(login(user.getEmail(), PASSWORD));
+
+        verify(userDetailsService, never()).updatePassword(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Wrong passwords, unknown emails and inactive users are rejected")
+    void rejectsInvalidLogins() {
+        AuthService authService = authService(4);
+        when(userDetailsService.loadUserByUsername(user.getEmail()))
+                .thenAnswer(invocation -> UserPrincipal.create(user));
+        when(userDetailsService.loadUserByUsername("nobody@test.com"))
+                .thenThrow(new UsernameNotFoundException("nobody@test.com"));
+
+        assertThatThrownBy(() -> authService.login(login(user.getEmail(), "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> authService.login(login("nobody@test.com", PASSWORD)))
+                .isInstanceOf(BadCredentialsException.class);
+
+        user.setIsActive(false);
+        assertThatThrownBy(() -> authService.login(login(user.getEmail(), PASSWORD)))
+                .isInstanceOf(DisabledException.class);
+        verifyNoInteractions(tokenProvider);
+    }
+
+    private AuthService authService(int strength) {
+        return new AuthService(userRepository, new BCryptPasswordEncoder(strength), userDetailsService,
+                tokenProvider, hashingExecutor, new ReadYourWritesTracker(false, 5_000, 100));
+    }
+
+    private static LoginRequest login(String email, String password) {
+        return LoginRequest.builder().email(email).password(password).build();
+    }
+}
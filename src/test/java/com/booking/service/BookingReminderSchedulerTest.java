@@ -0,0 +1,116 @@
+package com.booking.service;
+
+import com.booking.event.BookingEvent;
+import com.booking.event.BookingEventPublisher;
+import com.booking.repository.BookingReminderRepository;
+import com.booking.repository.BookingReminderRepository.Pending;
+import com.booking.repository.BookingReminderRepository.Reminder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingReminderSchedulerTest {
+
+    @Mock
+    private BookingReminderRepository reminderRepository;
+
+    @Mock
+    private BookingEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new BookingReminderScheduler(reminderRepository, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "leadMinutes", 15);
+        ReflectionTestUtils.setField(scheduler, "windowMinutes", 10);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "retryDelayMs", 30_000L);
+    }
+
+    @Test
+    @DisplayName("First window reads bookings starting within lead plus window, due ones are claimed in batches")
+    @SuppressWarnings("unchecked")
+    void loadsWindowAndPublishesDueReminders() {
+        // Given: two reminders already due, one in five minutes
+        LocalDateTime now = LocalDateTime.now();
+        when(reminderRepository.findPending(any(), any())).thenReturn(List.of(
+                new Pending(1L, now.plusMinutes(5)),
+                new Pending(2L, now.plusMinutes(10)),
+                new Pending(3L, now.plusMinutes(20))));
+        when(reminderRepository.claim(anyList(), any())).thenAnswer(i -> i.<List<Long>>getArgument(0).stream()
+                .map(id -> new Reminder(id, "Room", "user@test.com", "Test User", now, now.plusHours(1)))
+                .toList());
+
+        // When
+        scheduler.load();
+        scheduler.sweep();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reminderRepository).findPending(from.capture(), to.capture());
+        assertThat(from.getValue()).isBetween(now.minusSeconds(1), now.plusSeconds(1));
+        assertThat(to.getValue()).isBetween(now.plusMinutes(25).minusSeconds(1), now.plusMinutes(25).plusSeconds(1));
+
+        verify(reminderRepository).claim(eq(List.of(1L, 2L)), any());
+        ArgumentCaptor<List<BookingEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishStartingSoon(events.capture());
+        assertThat(events.getValue()).extracting(BookingEvent::getEventType)
+                .containsOnly(BookingEvent.EventType.BOOKING_STARTING_SOON);
+        verifyNoMoreInteractions(reminderRepository);
+    }
+
+    @Test
+    @DisplayName("Reminders the broker did not take are released and tried again later")
+    void releasesAndRetriesUnpublished() {
+        // Given: two due reminders, the second one fails to publish
+        LocalDateTime now = LocalDateTime.now();
+        when(reminderRepository.findPending(any(), any())).thenReturn(List.of(
+                new Pending(1L, now.plusMinutes(5)),
+                new Pending(2L, now.plusMinutes(10))));
+        when(reminderRepository.claim(anyList(), any())).thenAnswer(i -> i.<List<Long>>getArgument(0).stream()
+                .map(id -> new Reminder(id, "Room", "user@test.com", "Test User", now, now.plusHours(1)))
+                .toList());
+        when(eventPublisher.publishStartingSoon(anyList())).thenReturn(List.of(2L));
+
+        // When
+        scheduler.load();
+        scheduler.sweep();
+
+        // Then: the claim of the failed one is undone and it waits in the wheel for the retry
+        verify(reminderRepository).release(List.of(2L));
+        assertThat(meterRegistry.get("booking.reminders.sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.reminders.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Disabled scheduler does not touch the database")
+    void disabled() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+
+        scheduler.load();
+        scheduler.sweep();
+
+        verifyNoInteractions(reminderRepository, eventPublisher);
+    }
+}
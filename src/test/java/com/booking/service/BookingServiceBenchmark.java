@@ -0,0 +1,76 @@
+package com.booking.service;
+
+import com.booking.entity.Booking;
+import com.booking.entity.BookingStatus;
+import com.booking.entity.Resource;
+import com.booking.entity.Role;
+import com.booking.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory parts of the booking write path: time validation and entity-to-DTO mapping.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="BookingServiceBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingServiceBenchmark {
+
+    private BookingService bookingService;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        bookingService = new BookingService(null, null, null, null, null, null, null, null, null, null, null, null,
+                new BookingMetrics(new SimpleMeterRegistry()), null);
+        ReflectionTestUtils.setField(bookingService, "minDurationMinutes", 15);
+        ReflectionTestUtils.setField(bookingService, "maxDurationHours", 8);
+
+        startAt = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0);
+        endAt = startAt.plusHours(1);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@test.com");
+        user.setFullName("Bench User");
+        user.setRole(Role.USER);
+
+        Resource resource = new Resource();
+        resource.setId(1L);
+        resource.setName("Meeting Room A");
+
+        booking = new Booking();
+        booking.setId(42L);
+        booking.setUser(user);
+        booking.setResource(resource);
+        booking.setStartAt(startAt);
+        booking.setEndAt(endAt);
+        booking.setStatus(BookingStatus.CREATED);
+        booking.setDescription("Weekly sync");
+        booking.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public void validateBookingTime() {
+        bookingService.validateBookingTime(startAt, endAt);
+    }
+
+    @Benchmark
+    public Object toResponse() {
+        return bookingService.toResponse(booking);
+    }
+}
@@ -2,30 +2,46 @@ package com.booking.service;
 
 import com.booking.dto.booking.BookingFilterRequest;
 import com.booking.dto.booking.BookingResponse;
+import com.booking.dto.booking.BulkCancelRequest;
+import com.booking.dto.booking.BulkCancelResponse;
 import com.booking.dto.booking.CreateBookingRequest;
 import com.booking.dto.common.PageResponse;
 import com.booking.entity.*;
+import com.booking.event.BookingEvent;
 import com.booking.event.BookingEventPublisher;
 import com.booking.exception.BookingConflictException;
 import com.booking.exception.BookingValidationException;
 import com.booking.exception.ForbiddenException;
 import com.booking.exception.ResourceNotFoundException;
+import com.booking.exception.TooManyRequestsException;
+import com.booking.repository.BookingCancelRepository;
+import com.booking.repository.BookingCancelRepository.BulkCanceledBooking;
+import com.booking.repository.BookingCancelRepository.CanceledBooking;
+import com.booking.repository.BookingConfirmationRepository;
+import com.booking.repository.BookingConfirmationRepository.ConfirmedBooking;
+import com.booking.repository.BookingListQueries;
 import com.booking.repository.BookingRepository;
 import com.booking.repository.ResourceRepository;
 import com.booking.repository.UserRepository;
+import com.booking.repository.WaitlistRepository;
+import com.booking.repository.WaitlistRepository.Waiter;
+import com.booking.security.BookingRateLimiter;
 import com.booking.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -43,6 +59,27 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingListQueries bookingListQueries;
+
+    @Mock
+    private BookingCancelRepository bookingCancelRepository;
+
+    @Mock
+    private BookingConfirmationRepository bookingConfirmationRepository;
+
+    @Mock
+    private BookingExpiryWheel expiryWheel;
+
+    @Mock
+    private BookingReminderScheduler reminderScheduler;
+
+    @Mock
+    private BookingArchiver bookingArchiver;
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
     @Mock
     private ResourceRepository resourceRepository;
 
@@ -52,6 +89,17 @@ class BookingServiceTest {
     @Mock
     private BookingEventPublisher eventPublisher;
 
+    @Mock
+    private BookingRateLimiter rateLimiter;
+
+    @Mock
+    private UtilizationService utilizationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics metrics = new BookingMetrics(meterRegistry);
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -66,6 +114,7 @@ class BookingServiceTest {
         // Set config values
         ReflectionTestUtils.setField(bookingService, "minDurationMinutes", 15);
         ReflectionTestUtils.setField(bookingService, "maxDurationHours", 8);
+        ReflectionTestUtils.setField(bookingService, "checkInOpensMinutes", 15);
 
         // Create test user
         testUser = new User();
@@ -111,8 +160,8 @@ class BookingServiceTest {
             request.setEndAt(endAt);
             request.setDescription("Team meeting");
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(false);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(false);
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
             when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
                 Booking b = invocation.getArgument(0);
@@ -133,6 +182,32 @@ class BookingServiceTest {
             assertThat(response.getDescription()).isEqualTo("Team meeting");
 
             verify(bookingRepository).save(any(Booking.class));
+            verify(utilizationService).recordCreated(any(Booking.class));
+        }
+
+        @Test
+        @DisplayName("Bookings created while confirmation is enabled are marked to expire")
+        void shouldMarkBookingWhenConfirmationRequired() {
+            LocalDateTime startAt = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0);
+            CreateBookingRequest request = new CreateBookingRequest();
+            request.setResourceId(1L);
+            request.setStartAt(startAt);
+            request.setEndAt(startAt.plusHours(1));
+
+            when(expiryWheel.isEnabled()).thenReturn(true);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+            when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+                Booking b = invocation.getArgument(0);
+                b.setId(1L);
+                return b;
+            });
+
+            bookingService.createBooking(request, userPrincipal);
+
+            ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+            verify(bookingRepository).save(saved.capture());
+            assertThat(saved.getValue().isConfirmationRequired()).isTrue();
         }
 
         @Test
@@ -147,13 +222,17 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(endAt);
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(true);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(true);
 
             // When/Then
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(BookingConflictException.class)
                     .hasMessageContaining("overlap");
+            assertThat(meterRegistry.get("booking.rejections")
+                    .tags("operation", "create", "reason", "conflict").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("booking.operations")
+                    .tags("operation", "create", "outcome", "conflict").timer().count()).isEqualTo(1);
         }
 
         @Test
@@ -169,8 +248,8 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(endAt);
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(true);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(true);
 
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(BookingConflictException.class);
@@ -189,8 +268,8 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(endAt);
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(true);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(true);
 
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(BookingConflictException.class);
@@ -209,8 +288,8 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(endAt);
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(true);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(true);
 
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(BookingConflictException.class);
@@ -229,8 +308,8 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(endAt);
 
-            when(resourceRepository.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(testResource));
-            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt))).thenReturn(false);
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(bookingRepository.existsOverlappingBooking(eq(1L), eq(startAt), eq(endAt), eq(startAt.minusHours(8)))).thenReturn(false);
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
             when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
                 Booking b = invocation.getArgument(0);
@@ -255,12 +334,30 @@ class BookingServiceTest {
             request.setStartAt(startAt);
             request.setEndAt(startAt.plusHours(1));
 
-            when(resourceRepository.findByIdAndIsActiveTrue(999L)).thenReturn(Optional.empty());
+            when(resourceRepository.findById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(ResourceNotFoundException.class);
         }
 
+        @Test
+        @DisplayName("Should throw 429 when resource is rate limited")
+        void shouldThrowTooManyRequestsWhenResourceLimited() {
+            LocalDateTime startAt = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0);
+
+            CreateBookingRequest request = new CreateBookingRequest();
+            request.setResourceId(1L);
+            request.setStartAt(startAt);
+            request.setEndAt(startAt.plusHours(1));
+
+            doThrow(new TooManyRequestsException("Too many booking requests", 1))
+                    .when(rateLimiter).checkResource(1L);
+
+            assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
+                    .isInstanceOf(TooManyRequestsException.class);
+            verifyNoInteractions(resourceRepository, bookingRepository);
+        }
+
         @Test
         @DisplayName("Should throw 400 when duration too short")
         void shouldThrowValidationWhenDurationTooShort() {
@@ -275,6 +372,8 @@ class BookingServiceTest {
             assertThatThrownBy(() -> bookingService.createBooking(request, userPrincipal))
                     .isInstanceOf(BookingValidationException.class)
                     .hasMessageContaining("15 minutes");
+            assertThat(meterRegistry.get("booking.rejections")
+                    .tags("operation", "create", "reason", "too_short").counter().count()).isEqualTo(1);
         }
 
         @Test
@@ -334,14 +433,15 @@ class BookingServiceTest {
         @DisplayName("USER should see only own bookings")
         void userShouldSeeOnlyOwnBookings() {
             // Given
-            Booking booking = createTestBooking(1L, testUser, testResource);
-            PageImpl<Booking> page = new PageImpl<>(List.of(booking));
+            BookingFilterRequest filter = new BookingFilterRequest();
+            Pageable pageable = PageRequest.of(0, 20);
+            BookingResponse booking = bookingService.toResponse(createTestBooking(1L, testUser, testResource));
 
-            when(bookingRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+            when(bookingListQueries.findPage(filter, testUser.getId(), false, pageable))
+                    .thenReturn(new PageImpl<>(List.of(booking)));
 
             // When
-            PageResponse<BookingResponse> response = bookingService.getBookings(
-                    new BookingFilterRequest(), PageRequest.of(0, 20), userPrincipal);
+            PageResponse<BookingResponse> response = bookingService.getBookings(filter, pageable, userPrincipal);
 
             // Then
             assertThat(response.getContent()).hasSize(1);
@@ -352,19 +452,41 @@ class BookingServiceTest {
         @DisplayName("ADMIN should see all bookings")
         void adminShouldSeeAllBookings() {
             // Given
-            Booking booking1 = createTestBooking(1L, testUser, testResource);
-            Booking booking2 = createTestBooking(2L, adminUser, testResource);
-            PageImpl<Booking> page = new PageImpl<>(List.of(booking1, booking2));
+            BookingFilterRequest filter = new BookingFilterRequest();
+            Pageable pageable = PageRequest.of(0, 20);
+            BookingResponse booking1 = bookingService.toResponse(createTestBooking(1L, testUser, testResource));
+            BookingResponse booking2 = bookingService.toResponse(createTestBooking(2L, adminUser, testResource));
 
-            when(bookingRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+            when(bookingListQueries.findPage(filter, null, false, pageable))
+                    .thenReturn(new PageImpl<>(List.of(booking1, booking2)));
 
             // When
-            PageResponse<BookingResponse> response = bookingService.getBookings(
-                    new BookingFilterRequest(), PageRequest.of(0, 20), adminPrincipal);
+            PageResponse<BookingResponse> response = bookingService.getBookings(filter, pageable, adminPrincipal);
 
             // Then
             assertThat(response.getContent()).hasSize(2);
         }
+
+        @Test
+        @DisplayName("Should include archived bookings when dateFrom reaches past the archive horizon")
+        void shouldQueryHistoryWhenDateFromReachesArchive() {
+            // Given
+            BookingFilterRequest filter = new BookingFilterRequest();
+            filter.setDateFrom(LocalDateTime.now().minusYears(1));
+            Pageable pageable = PageRequest.of(0, 20);
+
+            when(bookingArchiver.reachesArchive(filter.getDateFrom())).thenReturn(true);
+            when(bookingListQueries.findPage(filter, null, true, pageable))
+                    .thenReturn(new PageImpl<>(List.of(
+                            bookingService.toResponse(createTestBooking(1L, testUser, testResource)))));
+
+            // When
+            PageResponse<BookingResponse> response = bookingService.getBookings(filter, pageable, adminPrincipal);
+
+            // Then
+            assertThat(response.getContent()).hasSize(1);
+            assertThat(response.getContent().get(0).getId()).isEqualTo(1L);
+        }
     }
 
     @Nested
@@ -375,34 +497,69 @@ class BookingServiceTest {
         @DisplayName("Owner can cancel own booking")
         void ownerCanCancelOwnBooking() {
             // Given
-            Booking booking = createTestBooking(1L, testUser, testResource);
-            booking.setStartAt(LocalDateTime.now().plusDays(1));
-
-            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-            when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+            LocalDateTime startAt = LocalDateTime.now().plusDays(1);
+            when(bookingCancelRepository.cancel(eq(1L), eq(testUser.getId()), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(canceled(testUser, startAt)));
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
             // When
             BookingResponse response = bookingService.cancelBooking(1L, userPrincipal);
 
             // Then
             assertThat(response.getStatus()).isEqualTo(BookingStatus.CANCELED);
+            assertThat(response.getStartAt()).isEqualTo(startAt);
+            InOrder order = inOrder(bookingCancelRepository, rateLimiter);
+            order.verify(bookingCancelRepository).cancel(eq(1L), any(), anyBoolean(), any());
+            order.verify(rateLimiter).checkResource(1L);
+            verifyNoMoreInteractions(bookingCancelRepository);
+            verify(eventPublisher).publishBookingCanceled(any(Booking.class));
+            verify(bookingRepository, never()).findById(any());
+            verify(bookingRepository, never()).save(any());
         }
 
         @Test
         @DisplayName("ADMIN can cancel any booking")
         void adminCanCancelAnyBooking() {
             // Given
-            Booking booking = createTestBooking(1L, testUser, testResource);
-            booking.setStartAt(LocalDateTime.now().plusDays(1));
-
-            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-            when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+            when(bookingCancelRepository.cancel(eq(1L), eq(adminUser.getId()), eq(true), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(canceled(testUser, LocalDateTime.now().plusDays(1))));
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
             // When
             BookingResponse response = bookingService.cancelBooking(1L, adminPrincipal);
 
             // Then
             assertThat(response.getStatus()).isEqualTo(BookingStatus.CANCELED);
+            assertThat(response.getUserId()).isEqualTo(testUser.getId());
+        }
+
+        @Test
+        @DisplayName("Throttled cancel fails after its UPDATE, so the transaction rolls it back")
+        void throttledCancelRollsBack() {
+            // Given
+            when(bookingCancelRepository.cancel(eq(1L), eq(testUser.getId()), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(canceled(testUser, LocalDateTime.now().plusDays(1))));
+            doThrow(new TooManyRequestsException("Too many booking requests", 1))
+                    .when(rateLimiter).checkResource(1L);
+
+            // When/Then
+            assertThatThrownBy(() -> bookingService.cancelBooking(1L, userPrincipal))
+                    .isInstanceOf(TooManyRequestsException.class);
+            verify(utilizationService, never()).recordCanceled(any(Booking.class));
+            verify(eventPublisher, never()).publishBookingCanceled(any());
+        }
+
+        @Test
+        @DisplayName("Unknown booking is not found")
+        void unknownBookingIsNotFound() {
+            // Given
+            when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThatThrownBy(() -> bookingService.cancelBooking(1L, userPrincipal))
+                    .isInstanceOf(ResourceNotFoundException.class);
         }
 
         @Test
@@ -454,6 +611,221 @@ class BookingServiceTest {
                     .isInstanceOf(BookingValidationException.class)
                     .hasMessageContaining("already started");
         }
+
+        @Test
+        @DisplayName("Cancelable booking that did not match was changed concurrently")
+        void concurrentChangeIsConflict() {
+            // Given
+            Booking booking = createTestBooking(1L, testUser, testResource);
+            booking.setStartAt(LocalDateTime.now().plusDays(1));
+
+            when(bookingCancelRepository.cancel(eq(1L), any(), anyBoolean(), any())).thenReturn(Optional.empty());
+            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+            // When/Then
+            assertThatThrownBy(() -> bookingService.cancelBooking(1L, userPrincipal))
+                    .isInstanceOf(BookingConflictException.class);
+        }
+
+        private CanceledBooking canceled(User owner, LocalDateTime startAt) {
+            return new CanceledBooking(1L, testResource.getId(), owner.getId(), startAt, startAt.plusHours(1),
+                    "Team meeting", LocalDateTime.now().minusDays(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Confirm Booking")
+    class ConfirmBookingTests {
+
+        @BeforeEach
+        void setUp() {
+            lenient().when(expiryWheel.startOf(any(LocalDateTime.class)))
+                    .thenAnswer(i -> i.<LocalDateTime>getArgument(0).minusMinutes(15));
+        }
+
+        @Test
+        @DisplayName("Owner confirms with one conditional update")
+        void ownerConfirms() {
+            // Given
+            LocalDateTime startAt = LocalDateTime.now().plusHours(2);
+            when(bookingConfirmationRepository.confirm(eq(1L), eq(testUser.getId()), eq(false),
+                    any(LocalDateTime.class), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(new ConfirmedBooking(1L, 1L, testUser.getId(), startAt,
+                            startAt.plusHours(1), null, LocalDateTime.now().minusDays(1))));
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+
+            // When
+            BookingResponse response = bookingService.confirmBooking(1L, userPrincipal);
+
+            // Then
+            assertThat(response.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+            verify(bookingRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Check-in bounds the start time from above")
+        void checkInBoundsStart() {
+            // Given
+            Booking booking = createTestBooking(1L, testUser, testResource);
+            booking.setStartAt(LocalDateTime.now().plusHours(3));
+            when(bookingConfirmationRepository.confirm(eq(1L), any(), anyBoolean(), any(LocalDateTime.class),
+                    any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Optional.empty());
+            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+            // When/Then
+            assertThatThrownBy(() -> bookingService.checkIn(1L, userPrincipal))
+                    .isInstanceOf(BookingValidationException.class)
+                    .hasMessageContaining("Check-in opens");
+        }
+
+        @Test
+        @DisplayName("Already confirmed booking is returned as is")
+        void alreadyConfirmed() {
+            // Given
+            Booking booking = createTestBooking(1L, testUser, testResource);
+            booking.setStatus(BookingStatus.CONFIRMED);
+            when(bookingConfirmationRepository.confirm(eq(1L), any(), anyBoolean(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+            // When/Then
+            assertThat(bookingService.confirmBooking(1L, userPrincipal).getStatus())
+                    .isEqualTo(BookingStatus.CONFIRMED);
+        }
+
+        @Test
+        @DisplayName("Cannot confirm after the deadline")
+        void deadlinePassed() {
+            // Given
+            Booking booking = createTestBooking(1L, testUser, testResource);
+            booking.setStartAt(LocalDateTime.now().minusMinutes(20));
+            when(bookingConfirmationRepository.confirm(eq(1L), any(), anyBoolean(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+            // When/Then
+            assertThatThrownBy(() -> bookingService.confirmBooking(1L, userPrincipal))
+                    .isInstanceOf(BookingValidationException.class)
+                    .hasMessageContaining("deadline");
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Cancel")
+    class BulkCancelTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Cancels matching bookings and publishes their events as one batch")
+        void cancelsAndPublishesBatch() {
+            // Given
+            LocalDateTime startAt = LocalDateTime.now().plusDays(1);
+            BulkCancelRequest request = BulkCancelRequest.builder().resourceId(1L).build();
+            when(bookingCancelRepository.cancelAll(eq(1L), isNull(), isNull(), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(List.of(
+                            new BulkCanceledBooking(1L, 1L, "Meeting Room A", testUser.getId(), "user@test.com",
+                                    "Test User", startAt, startAt.plusHours(1)),
+                            new BulkCanceledBooking(2L, 1L, "Meeting Room A", adminUser.getId(), "admin@test.com",
+                                    "Admin User", startAt.plusHours(2), startAt.plusHours(3))));
+
+            // When
+            BulkCancelResponse response = bookingService.cancelBookings(request);
+
+            // Then
+            assertThat(response.getCanceled()).isEqualTo(2);
+            ArgumentCaptor<List<BookingEvent>> events = ArgumentCaptor.forClass(List.class);
+            verify(eventPublisher).publishBookingsCanceled(events.capture());
+            assertThat(events.getValue()).extracting(BookingEvent::getBookingId).containsExactly(1L, 2L);
+            assertThat(events.getValue()).extracting(BookingEvent::getUserEmail)
+                    .containsExactly("user@test.com", "admin@test.com");
+            verify(utilizationService).recordCanceled(anyCollection());
+            verify(eventPublisher, never()).publishBookingCanceled(any());
+        }
+
+        @Test
+        @DisplayName("Nothing matched publishes nothing")
+        void nothingMatched() {
+            when(bookingCancelRepository.cancelAll(eq(1L), isNull(), isNull(), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(List.of());
+
+            assertThat(bookingService.cancelFutureBookings(1L)).isZero();
+            verifyNoInteractions(eventPublisher, utilizationService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Waitlist Promotion")
+    class WaitlistPromotionTests {
+
+        private LocalDateTime startAt;
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(bookingService, "waitlistEnabled", true);
+            ReflectionTestUtils.setField(bookingService, "promotionCandidates", 20);
+            startAt = LocalDateTime.now().plusDays(1).withNano(0);
+            when(bookingCancelRepository.cancel(eq(1L), eq(testUser.getId()), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(new CanceledBooking(1L, testResource.getId(), testUser.getId(), startAt,
+                            startAt.plusHours(2), "Team meeting", LocalDateTime.now().minusDays(1))));
+            when(resourceRepository.findById(1L)).thenReturn(Optional.of(testResource));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        }
+
+        @Test
+        @DisplayName("Oldest overlapping waiter whose window is now free gets the booking")
+        void promotesFirstCompatibleWaiter() {
+            // Given: the first waiter still clashes with another booking, the second fits
+            Waiter clashing = new Waiter(10L, adminUser.getId(), startAt.plusHours(1), startAt.plusHours(3), null);
+            Waiter fitting = new Waiter(11L, adminUser.getId(), startAt, startAt.plusHours(1), "Standup");
+            when(waitlistRepository.lockOverlapping(eq(1L), eq(startAt), eq(startAt.plusHours(2)),
+                    eq(startAt.minusHours(8)), any(LocalDateTime.class), eq(20)))
+                    .thenReturn(List.of(clashing, fitting));
+            when(bookingRepository.existsOverlappingBooking(1L, clashing.startAt(), clashing.endAt(),
+                    clashing.startAt().minusHours(8))).thenReturn(true);
+            when(bookingRepository.existsOverlappingBooking(1L, fitting.startAt(), fitting.endAt(),
+                    fitting.startAt().minusHours(8))).thenReturn(false);
+            when(userRepository.findById(adminUser.getId())).thenReturn(Optional.of(adminUser));
+            when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+                Booking booking = i.getArgument(0);
+                booking.setId(2L);
+                return booking;
+            });
+
+            // When
+            bookingService.cancelBooking(1L, userPrincipal);
+
+            // Then
+            ArgumentCaptor<Booking> promoted = ArgumentCaptor.forClass(Booking.class);
+            verify(bookingRepository).save(promoted.capture());
+            assertThat(promoted.getValue().getUser()).isEqualTo(adminUser);
+            assertThat(promoted.getValue().getStartAt()).isEqualTo(startAt);
+            assertThat(promoted.getValue().getDescription()).isEqualTo("Standup");
+            assertThat(promoted.getValue().getStatus()).isEqualTo(BookingStatus.CREATED);
+            verify(waitlistRepository).delete(11L);
+            verify(waitlistRepository, never()).delete(10L);
+            verify(eventPublisher).publishBookingCreated(promoted.getValue());
+            assertThat(meterRegistry.counter("booking.waitlist.promotions").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Entries of deactivated users are dropped without booking")
+        void dropsInactiveWaiter() {
+            // Given
+            adminUser.setIsActive(false);
+            Waiter waiter = new Waiter(10L, adminUser.getId(), startAt, startAt.plusHours(1), null);
+            when(waitlistRepository.lockOverlapping(eq(1L), any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(waiter));
+            when(userRepository.findById(adminUser.getId())).thenReturn(Optional.of(adminUser));
+
+            // When
+            bookingService.cancelBooking(1L, userPrincipal);
+
+            // Then
+            verify(waitlistRepository).delete(10L);
+            verify(bookingRepository, never()).save(any());
+            verify(eventPublisher, never()).publishBookingCreated(any());
+        }
     }
 
     private Booking createTestBooking(Long id, User user, Resource resource) {
@@ -0,0 +1,80 @@
+package com.booking.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    @Test
+    @DisplayName("Entry fires on the first tick at or after its deadline")
+    void firesAtDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 10, 3, START);
+        wheel.schedule("a", START + 2500);
+
+        assertThat(wheel.advance(START + 2000)).isEmpty();
+        assertThat(wheel.advance(START + 3000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Entries on higher levels cascade down and fire on time")
+    void cascadesFromHigherLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 10, 3, START);
+        wheel.schedule("level1", START + 45_300);
+        wheel.schedule("level2", START + 523_700);
+
+        assertThat(wheel.advance(START + 45_000)).isEmpty();
+        assertThat(wheel.advance(START + 46_000)).containsExactly("level1");
+        assertThat(wheel.advance(START + 523_000)).isEmpty();
+        assertThat(wheel.advance(START + 524_000)).containsExactly("level2");
+    }
+
+    @Test
+    @DisplayName("Past deadlines fire on the next advance; deadlines beyond the top level are refused")
+    void overdueAndOutOfRange() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 10, 2, START);
+
+        assertThat(wheel.schedule("late", START - 5000)).isTrue();
+        assertThat(wheel.schedule("far", wheel.horizon() + 1)).isFalse();
+        assertThat(wheel.advance(START)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Random deadlines each fire exactly once, never early and less than a tick late")
+    void randomDeadlines() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, START);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Set<Integer> fired = new HashSet<>();
+        long now = START;
+        int next = 0;
+
+        for (int step = 0; step < 5000; step++) {
+            for (int i = 0; i < 3; i++) {
+                long deadline = now + random.nextInt(500_000) - 5000;
+                if (wheel.schedule(next, deadline)) {
+                    deadlines.put(next, deadline);
+                }
+                next++;
+            }
+            now += random.nextInt(4000);
+            for (Integer id : wheel.advance(now)) {
+                assertThat(deadlines.get(id)).isLessThanOrEqualTo(now);
+                assertThat(fired.add(id)).isTrue();
+            }
+            deadlines.keySet().removeAll(fired);
+            long cutoff = now - 1000;
+            assertThat(deadlines.values()).allMatch(deadline -> deadline > cutoff);
+        }
+    }
+}
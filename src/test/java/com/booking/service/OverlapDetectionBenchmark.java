@@ -0,0 +1,100 @@
+package com.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ways to answer "does [start, end) overlap an existing booking of this resource" once the
+ * resource's bookings are in memory. Active bookings of one resource never overlap each other,
+ * so sorting by start lets a single predecessor lookup replace the full scan.
+ * Times are epoch minutes; {@code bookings} is the number of existing bookings on the resource.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test -Djmh.args="OverlapDetectionBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverlapDetectionBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final long SLOT_MINUTES = 60;
+
+    @Param({"16", "1024", "65536"})
+    private int bookings;
+
+    private long[] starts;
+    private long[] ends;
+    private TreeMap<Long, Long> byStart;
+    private long[] queryStarts;
+    private long[] queryEnds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        starts = new long[bookings];
+        ends = new long[bookings];
+        byStart = new TreeMap<>();
+        for (int i = 0; i < bookings; i++) {
+            // One slot per hour, about half of them booked, 15 to 60 minutes long
+            starts[i] = i * 2 * SLOT_MINUTES + random.nextLong(SLOT_MINUTES);
+            ends[i] = starts[i] + 15 + random.nextLong(45);
+            byStart.put(starts[i], ends[i]);
+        }
+        long horizon = bookings * 2 * SLOT_MINUTES;
+        queryStarts = new long[QUERIES];
+        queryEnds = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryStarts[i] = random.nextLong(horizon);
+            queryEnds[i] = queryStarts[i] + 15 + random.nextLong(120);
+        }
+    }
+
+    /** What the overlap query does without a usable index */
+    @Benchmark
+    public boolean linearScan() {
+        int q = nextQuery();
+        long start = queryStarts[q];
+        long end = queryEnds[q];
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < end && ends[i] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Last booking starting before {@code end} is the only candidate */
+    @Benchmark
+    public boolean sortedBinarySearch() {
+        int q = nextQuery();
+        long start = queryStarts[q];
+        long end = queryEnds[q];
+        int i = Arrays.binarySearch(starts, end);
+        int candidate = i >= 0 ? i - 1 : -i - 2;
+        return candidate >= 0 && ends[candidate] > start;
+    }
+
+    /** Same lookup on a boxed navigable map, the shape a per-resource cache would use */
+    @Benchmark
+    public boolean treeMapLowerEntry() {
+        int q = nextQuery();
+        Map.Entry<Long, Long> candidate = byStart.lowerEntry(queryEnds[q]);
+        return candidate != null && candidate.getValue() > queryStarts[q];
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+}
@@ -0,0 +1,80 @@
+package com.booking.service;
+
+import com.booking.repository.ResourceImportRepository.StagedRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourceImportReaderTest {
+
+    private final ResourceImportReader reader = new ResourceImportReader(new ObjectMapper());
+
+    @Test
+    @DisplayName("CSV fields may be quoted, contain commas, doubled quotes and line breaks")
+    void csvQuoting() throws IOException {
+        List<StagedRow> rows = read(ResourceImportReader.Format.CSV, """
+                name,location,capacity,description,is_active
+                Room A,Floor 1,10,"Big, bright ""corner"" room
+                with a view",true
+                Room B,,4,,false
+                """);
+
+        assertThat(rows).containsExactly(
+                new StagedRow(1, "Room A", "Floor 1", 10, "Big, bright \"corner\" room\nwith a view", true, null),
+                new StagedRow(2, "Room B", null, 4, null, false, null));
+    }
+
+    @Test
+    @DisplayName("Unparseable values become row errors instead of failing the import")
+    void csvRowErrors() throws IOException {
+        List<StagedRow> rows = read(ResourceImportReader.Format.CSV, """
+                capacity,name
+                ten,Room A
+                5
+                3,Room C
+                """);
+
+        assertThat(rows).extracting(StagedRow::error).containsExactly(
+                "Capacity must be a whole number", "Expected 2 columns, found 1", null);
+        assertThat(rows.get(2).isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A CSV header without the required columns rejects the file")
+    void csvMissingHeader() {
+        assertThatThrownBy(() -> read(ResourceImportReader.Format.CSV, "Room A,Floor 1,10\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("NDJSON rows are numbered by non-blank line")
+    void ndjson() throws IOException {
+        List<StagedRow> rows = read(ResourceImportReader.Format.NDJSON, """
+                {"name":"Room A","capacity":6,"isActive":false}
+
+                {"name":"Room B",
+                ["not","an","object"]
+                """);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(new StagedRow(1, "Room A", null, 6, null, false, null));
+        assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+        assertThat(rows.get(2)).extracting(StagedRow::rowNo, StagedRow::error).containsExactly(3, "Expected a JSON object");
+    }
+
+    private List<StagedRow> read(ResourceImportReader.Format format, String content) throws IOException {
+        List<StagedRow> rows = new ArrayList<>();
+        int count = reader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, rows::add);
+        assertThat(count).isEqualTo(rows.size());
+        return rows;
+    }
+}
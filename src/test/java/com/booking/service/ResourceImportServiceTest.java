@@ -0,0 +1,157 @@
+package com.booking.service;
+
+import com.booking.config.ClusterChangeBus;
+import com.booking.config.ClusterChangeBus.Topic;
+import com.booking.config.EntityCacheEvictor;
+import com.booking.dto.resource.ResourceImportResponse;
+import com.booking.entity.Resource;
+import com.booking.exception.ApiException;
+import com.booking.repository.ResourceImportRepository;
+import com.booking.repository.ResourceImportRepository.MergeResult;
+import com.booking.repository.ResourceImportRepository.RowError;
+import com.booking.repository.ResourceImportRepository.StagedRow;
+import com.booking.repository.ResourceImportRepository.StagingWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceImportServiceTest {
+
+    @Mock
+    private ResourceImportRepository importRepository;
+
+    @Mock
+    private EntityCacheEvictor cacheEvictor;
+
+    @Mock
+    private ClusterChangeBus changeBus;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private StagingWriter writer;
+
+    private ResourceImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ResourceImportService(importRepository, new ObjectMapper(), cacheEvictor, changeBus,
+                bookingService);
+        ReflectionTestUtils.setField(importService, "batchSize", 500);
+        ReflectionTestUtils.setField(importService, "maxErrors", 2);
+    }
+
+    @Test
+    @DisplayName("Parsed rows are staged, merged and reported with the first errors")
+    void reportsCountsAndErrors() {
+        when(importRepository.openStaging(500)).thenReturn(writer);
+        when(importRepository.validateAndMerge()).thenReturn(new MergeResult(1, 0));
+        when(importRepository.countRejected()).thenReturn(3);
+        when(importRepository.findErrors(2)).thenReturn(List.of(
+                new RowError(2, "Capacity must be a whole number"), new RowError(3, "Name is required")));
+
+        ResourceImportResponse response = importService.importResources(input("""
+                name,capacity
+                Room A,4
+                Room B,four
+                ,2
+                Room A,5
+                """), ResourceImportService.TEXT_CSV);
+
+        ArgumentCaptor<StagedRow> staged = ArgumentCaptor.forClass(StagedRow.class);
+        verify(writer, times(4)).write(staged.capture());
+        assertThat(staged.getAllValues()).extracting(StagedRow::rowNo).containsExactly(1, 2, 3, 4);
+        verify(writer).finish();
+        verify(writer).close();
+        assertThat(response.getReceived()).isEqualTo(4);
+        assertThat(response.getInserted()).isEqualTo(1);
+        assertThat(response.getUpdated()).isZero();
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(ResourceImportResponse.RowError::getRow).containsExactly(2, 3);
+        assertThat(response.isErrorsTruncated()).isTrue();
+        verifyNoInteractions(cacheEvictor, changeBus);
+    }
+
+    @Test
+    @DisplayName("Updated resources are evicted locally and announced to other instances")
+    void updatesInvalidateCaches() {
+        when(importRepository.openStaging(anyInt())).thenReturn(writer);
+        when(importRepository.validateAndMerge()).thenReturn(new MergeResult(0, 1));
+
+        ResourceImportResponse response = importService.importResources(input("""
+                {"name":"Room A","capacity":8}
+                """), ResourceImportService.APPLICATION_NDJSON);
+
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.isErrorsTruncated()).isFalse();
+        verify(cacheEvictor).evictAllAfterCommit(Resource.class);
+        verify(changeBus).publish(Topic.RESOURCES, null);
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @DisplayName("Resources the import deactivates lose their future bookings")
+    void deactivationCancelsFutureBookings() {
+        when(importRepository.openStaging(anyInt())).thenReturn(writer);
+        when(importRepository.validateAndMerge()).thenReturn(new MergeResult(0, 2, List.of(7L, 9L)));
+
+        importService.importResources(input("""
+                {"name":"Room A","capacity":8,"isActive":false}
+                {"name":"Room B","capacity":4,"isActive":false}
+                """), ResourceImportService.APPLICATION_NDJSON);
+
+        verify(bookingService).cancelFutureBookings(7L);
+        verify(bookingService).cancelFutureBookings(9L);
+    }
+
+    @Test
+    @DisplayName("A file the reader cannot use is a 400 and nothing is merged")
+    void rejectsUnreadableFile() {
+        when(importRepository.openStaging(anyInt())).thenReturn(writer);
+
+        assertThatThrownBy(() -> importService.importResources(input("Room A,Floor 1,10\n"), ResourceImportService.TEXT_CSV))
+                .isInstanceOf(ApiException.class)
+                .extracting(e -> ((ApiException) e).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(writer).close();
+        verify(importRepository, never()).validateAndMerge();
+    }
+
+    @Test
+    @DisplayName("Other content types are a 415 before anything is staged")
+    void rejectsUnsupportedMediaType() {
+        assertThatThrownBy(() -> importService.importResources(input("{}"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(ApiException.class)
+                .extracting(e -> ((ApiException) e).getStatus()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        verify(importRepository, never()).openStaging(anyInt());
+        verify(writer, never()).write(any());
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package com.booking.service;
+
+import com.booking.dto.user.ProvisionUserEntry;
+import com.booking.dto.user.ProvisionUsersRequest;
+import com.booking.dto.user.ProvisioningJobResponse;
+import com.booking.entity.Role;
+import com.booking.repository.UserProvisioningRepository;
+import com.booking.repository.UserProvisioningRepository.NewUser;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserProvisioningRepository provisioningRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private UserProvisioningService provisioningService;
+
+    @BeforeEach
+    void setUp() {
+        provisioningService = new UserProvisioningService(provisioningRepository, passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 60);
+        ReflectionTestUtils.setField(provisioningService, "maxUsers", 1000);
+        ReflectionTestUtils.setField(provisioningService, "batchSize", 2);
+        ReflectionTestUtils.setField(provisioningService, "hashingParallelism", 2);
+        ReflectionTestUtils.setField(provisioningService, "maxErrors", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioningService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Duplicates and invalid entries are skipped before hashing, the rest are inserted")
+    @SuppressWarnings("unchecked")
+    void provisionsNewUsersOnly() throws InterruptedException {
+        String preHashed = passwordEncoder.encode("secret1");
+        when(provisioningRepository.findExistingEmails(anyList())).thenAnswer(inv ->
+                ((List<String>) inv.getArgument(0)).contains("taken@example.com")
+                        ? Set.of("taken@example.com") : Set.of());
+        when(provisioningRepository.insertAll(anyList())).thenAnswer(inv -> allTrue(inv.getArgument(0)));
+
+        ProvisioningJobResponse submitted = provisioningService.submit(new ProvisionUsersRequest(List.of(
+                entry("Ann@Example.com", "password1", null),
+                entry("taken@example.com", "password2", null),
+                entry("ann@example.com", "password3", null),
+                entry("not-an-email", "password4", null),
+                entry("bob@example.com", null, preHashed),
+                entry("sso@example.com", null, null))));
+
+        ProvisioningJobResponse job = awaitCompletion(submitted);
+
+        assertThat(job.getStatus()).isEqualTo(ProvisioningJobResponse.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(6);
+        assertThat(job.getCreated()).isEqualTo(3);
+        assertThat(job.getDuplicates()).isEqualTo(2);
+        assertThat(job.getRejected()).isEqualTo(1);
+        assertThat(job.getErrors()).extracting(ProvisioningJobResponse.EntryError::getIndex)
+                .containsExactlyInAnyOrder(1, 2, 3);
+
+        ArgumentCaptor<List<NewUser>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(provisioningRepository, atLeastOnce()).insertAll(inserted.capture());
+        List<NewUser> users = inserted.getAllValues().stream().flatMap(List::stream).toList();
+        assertThat(users).extracting(NewUser::email)
+                .containsExactly("ann@example.com", "bob@example.com", "sso@example.com");
+        assertThat(passwordEncoder.matches("password1", users.get(0).passwordHash())).isTrue();
+        assertThat(users.get(1).passwordHash()).isEqualTo(preHashed);
+        assertThat(users.get(2).passwordHash()).isEqualTo(UserProvisioningService.NO_PASSWORD_HASH);
+        assertThat(users).extracting(NewUser::role).containsOnly(Role.USER);
+    }
+
+    private ProvisioningJobResponse awaitCompletion(ProvisioningJobResponse submitted) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ProvisioningJobResponse job = provisioningService.getJob(submitted.getJobId());
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Provisioning job did not finish");
+    }
+
+    private static boolean[] allTrue(List<?> users) {
+        boolean[] inserted = new boolean[users.size()];
+        Arrays.fill(inserted, true);
+        return inserted;
+    }
+
+    private static ProvisionUserEntry entry(String email, String password, String passwordHash) {
+        return ProvisionUserEntry.builder()
+                .email(email)
+                .fullName("Test User")
+                .password(password)
+                .passwordHash(passwordHash)
+                .build();
+    }
+}
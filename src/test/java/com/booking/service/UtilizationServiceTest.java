@@ -0,0 +1,42 @@
+package com.booking.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtilizationServiceTest {
+
+    @Test
+    @DisplayName("A booking within one day counts all its minutes on that day")
+    void sameDayBooking() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 9, 30);
+
+        assertThat(UtilizationService.minutesPerDay(start, start.plusMinutes(90)))
+                .containsExactly(Map.entry(LocalDate.of(2026, 3, 10), 90));
+    }
+
+    @Test
+    @DisplayName("A booking across midnight is split between both days")
+    void bookingAcrossMidnight() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 22, 0);
+
+        assertThat(UtilizationService.minutesPerDay(start, start.plusHours(3)))
+                .containsExactly(
+                        Map.entry(LocalDate.of(2026, 3, 10), 120),
+                        Map.entry(LocalDate.of(2026, 3, 11), 60));
+    }
+
+    @Test
+    @DisplayName("A booking ending exactly at midnight does not touch the next day")
+    void bookingEndingAtMidnight() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 23, 0);
+
+        assertThat(UtilizationService.minutesPerDay(start, start.plusHours(1)))
+                .containsExactly(Map.entry(LocalDate.of(2026, 3, 10), 60));
+    }
+}